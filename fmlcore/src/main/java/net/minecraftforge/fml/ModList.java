@@ -11,11 +11,13 @@ import net.minecraftforge.forgespi.language.IModFileInfo;
 import net.minecraftforge.forgespi.language.IModInfo;
 import net.minecraftforge.forgespi.language.ModFileScanData;
 import net.minecraftforge.fml.loading.moddiscovery.ModFile;
+import net.minecraftforge.fml.loading.moddiscovery.ModFileAnnotationIndex;
 import net.minecraftforge.fml.loading.moddiscovery.ModFileInfo;
 import net.minecraftforge.fml.loading.moddiscovery.ModInfo;
 import net.minecraftforge.forgespi.locating.IModFile;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.objectweb.asm.Type;
 
 import java.util.AbstractMap;
 import java.util.ArrayList;
@@ -30,6 +32,7 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinWorkerThread;
@@ -54,6 +57,7 @@ public class ModList
     private List<ModContainer> mods;
     private Map<String, ModContainer> indexedMods;
     private List<ModFileScanData> modFileScanData;
+    private final Map<Type, List<ModFileScanData.AnnotationData>> annotationsByType = new ConcurrentHashMap<>();
     private List<ModContainer> sortedContainers;
 
     private ModList(final List<ModFile> modFiles, final List<ModInfo> sortedList)
@@ -208,6 +212,17 @@ public class ModList
 
     }
 
+    /**
+     * Returns the annotations of the given type across all mod files, in the same order as {@link #getAllScanData()}.
+     */
+    public List<ModFileScanData.AnnotationData> getAllAnnotations(final Type annotationType)
+    {
+        return annotationsByType.computeIfAbsent(annotationType, type -> getAllScanData().stream().
+                map(ModFileAnnotationIndex::of).
+                flatMap(index -> index.getAnnotations(type).stream()).
+                toList());
+    }
+
     public void forEachModFile(Consumer<IModFile> fileConsumer)
     {
         modFiles.stream().map(IModFileInfo::getFile).forEach(fileConsumer);
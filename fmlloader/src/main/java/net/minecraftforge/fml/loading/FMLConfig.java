@@ -30,6 +30,8 @@ public class FMLConfig
         configSpec.define("versionCheck", Boolean.TRUE);
         configSpec.define("defaultConfigPath",  "defaultconfigs");
         configSpec.define("disableOptimizedDFU", Boolean.TRUE);
+        configSpec.define("scanThreads", -1);
+        configSpec.define("scanCache", Boolean.TRUE);
     }
 
     private CommentedFileConfig configData;
@@ -68,6 +70,8 @@ public class FMLConfig
             LOGGER.trace(CORE, "Max threads for mod loading computed at {}", FMLConfig.loadingThreadCount());
             LOGGER.trace(CORE, "Version check is {}", FMLConfig.runVersionCheck());
             LOGGER.trace(CORE, "Default config paths at {}", FMLConfig.defaultConfigPath());
+            LOGGER.trace(CORE, "Max threads for mod scanning computed at {}", FMLConfig.scanThreadCount());
+            LOGGER.trace(CORE, "Mod scan cache is {}", FMLConfig.scanCacheEnabled());
         }
         FMLPaths.getOrCreateGameRelativePath(Paths.get(FMLConfig.defaultConfigPath()), "default config directory");
     }
@@ -93,4 +97,14 @@ public class FMLConfig
     public static boolean isOptimizedDFUDisabled() {
         return INSTANCE.configData.<Boolean>getOptional("disableOptimizedDFU").orElse(Boolean.TRUE);
     }
+
+    public static int scanThreadCount() {
+        int val = INSTANCE.configData.<Integer>getOptional("scanThreads").orElse(-1);
+        if (val <= 0) return Runtime.getRuntime().availableProcessors();
+        return val;
+    }
+
+    public static boolean scanCacheEnabled() {
+        return INSTANCE.configData.<Boolean>getOptional("scanCache").orElse(Boolean.TRUE);
+    }
 }
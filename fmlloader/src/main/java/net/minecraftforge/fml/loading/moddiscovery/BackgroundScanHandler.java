@@ -6,6 +6,7 @@
 package net.minecraftforge.fml.loading.moddiscovery;
 
 import com.mojang.logging.LogUtils;
+import net.minecraftforge.fml.loading.FMLConfig;
 import net.minecraftforge.fml.loading.LoadingModList;
 import net.minecraftforge.fml.loading.LogMarkers;
 import net.minecraftforge.forgespi.language.ModFileScanData;
@@ -14,6 +15,7 @@ import org.slf4j.Logger;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.*;
 
@@ -34,18 +36,21 @@ public class BackgroundScanHandler
     private final List<ModFile> scannedFiles;
     private final List<ModFile> allFiles;
     private final List<ModFile> modFiles;
-    private ScanStatus status;
+    private volatile ScanStatus status;
     private LoadingModList loadingModList;
+    private long scanStart;
 
     public BackgroundScanHandler(final List<ModFile> modFiles) {
         this.modFiles = modFiles;
-        modContentScanner = Executors.newSingleThreadExecutor(r -> {
-            final Thread thread = Executors.defaultThreadFactory().newThread(r);
+        // A fork join pool, so large files can split their classes across the same workers without starving them
+        modContentScanner = new ForkJoinPool(FMLConfig.scanThreadCount(), pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
             thread.setDaemon(true);
+            thread.setName("modscanner-" + thread.getPoolIndex());
             return thread;
-        });
-        scannedFiles = new ArrayList<>();
-        pendingFiles = new ArrayList<>();
+        }, null, false);
+        scannedFiles = Collections.synchronizedList(new ArrayList<>());
+        pendingFiles = Collections.synchronizedList(new ArrayList<>());
         allFiles = new ArrayList<>();
         status = ScanStatus.NOT_STARTED;
     }
@@ -59,6 +64,7 @@ public class BackgroundScanHandler
             status = ScanStatus.ERRORED;
             throw new IllegalStateException("Scanner has shutdown");
         }
+        if (status == ScanStatus.NOT_STARTED) scanStart = System.nanoTime();
         status = ScanStatus.RUNNING;
         allFiles.add(file);
         pendingFiles.add(file);
@@ -102,5 +108,7 @@ public class BackgroundScanHandler
         } while (status == ScanStatus.RUNNING);
         if (status == ScanStatus.INTERRUPTED) Thread.currentThread().interrupt();
         if (status != ScanStatus.COMPLETE) throw new IllegalStateException("Failed to complete mod scan");
+        ModFileScanCache.prune();
+        LOGGER.debug(LogMarkers.SCAN, "Scanned {} mod files in {}ms", scannedFiles.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scanStart));
     }
 }
@@ -57,6 +57,7 @@ public class ModFile implements IModFile {
     private final IModProvider provider;
     private       IModFileInfo modFileInfo;
     private ModFileScanData fileModFileScanData;
+    private ModFileAnnotationIndex annotationIndex;
     private CompletableFuture<ModFileScanData> futureScanResult;
     private List<CoreModFile> coreMods;
     private Path accessTransformer;
@@ -151,7 +152,16 @@ public class ModFile implements IModFile {
         return this.fileModFileScanData;
     }
 
+    /**
+     * @return The annotations of the scan result grouped by type, or null if the file was not scanned
+     */
+    public ModFileAnnotationIndex getAnnotationIndex() {
+        getScanResult();
+        return this.annotationIndex;
+    }
+
     public void setScanResult(final ModFileScanData modFileScanData, final Throwable throwable) {
+        this.annotationIndex = modFileScanData != null ? ModFileAnnotationIndex.build(modFileScanData) : null;
         this.futureScanResult = null;
         this.fileModFileScanData = modFileScanData;
         if (throwable != null) {
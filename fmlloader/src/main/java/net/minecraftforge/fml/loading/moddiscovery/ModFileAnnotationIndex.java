@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.fml.loading.moddiscovery;
+
+import net.minecraftforge.forgespi.language.IModFileInfo;
+import net.minecraftforge.forgespi.language.ModFileScanData;
+import org.objectweb.asm.Type;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The annotations of a {@link ModFileScanData}, grouped by annotation type.
+ * <p>
+ * Mod files build their index once their scan completes, so consumers looking for one annotation type only visit
+ * the annotations of that type instead of filtering every annotation of the file. Annotations added to the scan data
+ * after the scan completed are not indexed.
+ */
+public final class ModFileAnnotationIndex {
+    private final Map<Type, List<ModFileScanData.AnnotationData>> byType;
+
+    private ModFileAnnotationIndex(final Map<Type, List<ModFileScanData.AnnotationData>> byType) {
+        this.byType = byType;
+    }
+
+    static ModFileAnnotationIndex build(final ModFileScanData scanData) {
+        final Map<Type, List<ModFileScanData.AnnotationData>> byType = new HashMap<>();
+        for (ModFileScanData.AnnotationData annotation : scanData.getAnnotations()) {
+            byType.computeIfAbsent(annotation.annotationType(), t -> new ArrayList<>()).add(annotation);
+        }
+        byType.replaceAll((type, annotations) -> List.copyOf(annotations));
+        return new ModFileAnnotationIndex(Map.copyOf(byType));
+    }
+
+    /**
+     * Returns the index built for the scan data by its mod file, or indexes the scan data now if it does not belong
+     * to a scanned mod file.
+     */
+    public static ModFileAnnotationIndex of(final ModFileScanData scanData) {
+        for (IModFileInfo info : scanData.getIModInfoData()) {
+            if (info.getFile() instanceof ModFile modFile && modFile.getScanResult() == scanData) {
+                final ModFileAnnotationIndex index = modFile.getAnnotationIndex();
+                if (index != null) return index;
+            }
+        }
+        return build(scanData);
+    }
+
+    /**
+     * @return The annotations of the given type, in scan order
+     */
+    public List<ModFileScanData.AnnotationData> getAnnotations(final Type annotationType) {
+        return byType.getOrDefault(annotationType, List.of());
+    }
+}
@@ -0,0 +1,448 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.fml.loading.moddiscovery;
+
+import com.mojang.logging.LogUtils;
+import net.minecraftforge.fml.loading.FMLConfig;
+import net.minecraftforge.fml.loading.FMLPaths;
+import net.minecraftforge.fml.loading.LogMarkers;
+import net.minecraftforge.forgespi.language.ModFileScanData;
+import org.objectweb.asm.Type;
+import org.slf4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.ElementType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of the class and annotation data collected by the {@link Scanner}, keyed by the
+ * SHA-256 of the mod jar. Only the results of the class scan are stored, language loader data is
+ * always recomputed. Any failure while reading or writing an entry simply results in a rescan.
+ * <p>
+ * The hash of each jar is remembered alongside its size and modification time, so unchanged jars are not hashed
+ * again on the next boot. Once the scan completes, {@link #prune()} deletes the entries no current mod file uses.
+ */
+public class ModFileScanCache {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final int FORMAT_VERSION = 1;
+    private static final int FINGERPRINT_VERSION = 1;
+    private static final String FINGERPRINT_FILE = "fingerprints.bin";
+    private static final String ENTRY_SUFFIX = ".bin";
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte BOOLEAN = 2;
+    private static final byte BYTE = 3;
+    private static final byte CHAR = 4;
+    private static final byte SHORT = 5;
+    private static final byte INT = 6;
+    private static final byte LONG = 7;
+    private static final byte FLOAT = 8;
+    private static final byte DOUBLE = 9;
+    private static final byte TYPE = 10;
+    private static final byte ENUM = 11;
+    private static final byte LIST = 12;
+    private static final byte MAP = 13;
+    private static final byte BOOLEAN_ARRAY = 14;
+    private static final byte BYTE_ARRAY = 15;
+    private static final byte CHAR_ARRAY = 16;
+    private static final byte SHORT_ARRAY = 17;
+    private static final byte INT_ARRAY = 18;
+    private static final byte LONG_ARRAY = 19;
+    private static final byte FLOAT_ARRAY = 20;
+    private static final byte DOUBLE_ARRAY = 21;
+
+    // Fingerprints read from the previous boot, and the ones of the files seen during this boot
+    private static Map<String, Fingerprint> previousFingerprints;
+    private static final Map<String, Fingerprint> currentFingerprints = new HashMap<>();
+
+    private final Path cacheFile;
+
+    private ModFileScanCache(final Path cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * @return A cache handle for the supplied mod file, or null if caching is disabled or the file can't be hashed
+     */
+    public static ModFileScanCache forFile(final ModFile file) {
+        if (!FMLConfig.scanCacheEnabled()) return null;
+        final Path path = file.getFilePath();
+        if (path == null || !Files.isRegularFile(path)) return null; // Exploded directories change without notice
+        try {
+            return new ModFileScanCache(cacheDir().resolve(fingerprint(path).hash() + ENTRY_SUFFIX));
+        } catch (IOException e) {
+            LOGGER.debug(LogMarkers.SCAN, "Unable to hash mod file {} for the scan cache", path, e);
+            return null;
+        }
+    }
+
+    /**
+     * Deletes the cache entries that no mod file of this boot used, and saves the fingerprints of those that did.
+     * Called once every mod file has been scanned.
+     */
+    public static void prune() {
+        if (!FMLConfig.scanCacheEnabled()) return;
+        final Path dir = cacheDir();
+        if (!Files.isDirectory(dir)) return;
+        final Set<String> used = new HashSet<>();
+        final Map<String, Fingerprint> fingerprints;
+        synchronized (currentFingerprints) {
+            fingerprints = Map.copyOf(currentFingerprints);
+        }
+        fingerprints.values().forEach(fingerprint -> used.add(fingerprint.hash() + ENTRY_SUFFIX));
+        used.add(FINGERPRINT_FILE);
+
+        int pruned = 0;
+        try (Stream<Path> entries = Files.list(dir)) {
+            for (Path entry : (Iterable<Path>) entries::iterator) {
+                if (!used.contains(entry.getFileName().toString()) && Files.deleteIfExists(entry)) pruned++;
+            }
+        } catch (IOException e) {
+            LOGGER.debug(LogMarkers.SCAN, "Unable to prune scan cache {}", dir, e);
+        }
+        if (pruned > 0) LOGGER.debug(LogMarkers.SCAN, "Pruned {} unused scan cache entries", pruned);
+        writeFingerprints(dir.resolve(FINGERPRINT_FILE), fingerprints);
+    }
+
+    private static Path cacheDir() {
+        return FMLPaths.GAMEDIR.get().resolve(".cache").resolve("fml").resolve("scan");
+    }
+
+    private static Fingerprint fingerprint(final Path path) throws IOException {
+        final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        final long size = attributes.size();
+        final long modified = attributes.lastModifiedTime().toMillis();
+        final String key = path.toAbsolutePath().normalize().toString();
+
+        Fingerprint fingerprint;
+        synchronized (currentFingerprints) {
+            if (previousFingerprints == null) previousFingerprints = readFingerprints(cacheDir().resolve(FINGERPRINT_FILE));
+            fingerprint = previousFingerprints.get(key);
+        }
+        if (fingerprint == null || fingerprint.size() != size || fingerprint.modified() != modified) {
+            fingerprint = new Fingerprint(size, modified, hash(path));
+        }
+        synchronized (currentFingerprints) {
+            currentFingerprints.put(key, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    private static Map<String, Fingerprint> readFingerprints(final Path file) {
+        if (!Files.isRegularFile(file)) return Map.of();
+        final Map<String, Fingerprint> fingerprints = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FINGERPRINT_VERSION) return Map.of();
+            final int count = in.readInt();
+            for (int x = 0; x < count; x++) {
+                fingerprints.put(in.readUTF(), new Fingerprint(in.readLong(), in.readLong(), in.readUTF()));
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug(LogMarkers.SCAN, "Ignoring unreadable scan cache fingerprints {}", file, e);
+            return Map.of();
+        }
+        return fingerprints;
+    }
+
+    private static void writeFingerprints(final Path file, final Map<String, Fingerprint> fingerprints) {
+        try {
+            final Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                    out.writeInt(FINGERPRINT_VERSION);
+                    out.writeInt(fingerprints.size());
+                    for (Map.Entry<String, Fingerprint> entry : fingerprints.entrySet()) {
+                        out.writeUTF(entry.getKey());
+                        out.writeLong(entry.getValue().size());
+                        out.writeLong(entry.getValue().modified());
+                        out.writeUTF(entry.getValue().hash());
+                    }
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            LOGGER.debug(LogMarkers.SCAN, "Unable to write scan cache fingerprints {}", file, e);
+        }
+    }
+
+    private static String hash(final Path path) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        try (InputStream in = Files.newInputStream(path)) {
+            final byte[] buf = new byte[65536];
+            int read;
+            while ((read = in.read(buf)) != -1) {
+                digest.update(buf, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private record Fingerprint(long size, long modified, String hash) {}
+
+    /**
+     * Loads the cached class and annotation data into the supplied scan result.
+     *
+     * @return true if the cache held a valid entry
+     */
+    public boolean load(final ModFileScanData result) {
+        if (!Files.isRegularFile(cacheFile)) return false;
+        final List<ModFileScanData.ClassData> classList = new ArrayList<>();
+        final List<ModFileScanData.AnnotationData> annotationList = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            if (in.readInt() != FORMAT_VERSION) return false;
+            final int classCount = in.readInt();
+            for (int x = 0; x < classCount; x++) {
+                final Type clazz = Type.getType(in.readUTF());
+                final Type parent = in.readBoolean() ? Type.getType(in.readUTF()) : null;
+                final int interfaceCount = in.readInt();
+                final Set<Type> interfaces = new HashSet<>();
+                for (int y = 0; y < interfaceCount; y++) {
+                    interfaces.add(Type.getType(in.readUTF()));
+                }
+                classList.add(new ModFileScanData.ClassData(clazz, parent, interfaces));
+            }
+            final int annotationCount = in.readInt();
+            for (int x = 0; x < annotationCount; x++) {
+                final Type annotationType = Type.getType(in.readUTF());
+                final ElementType targetType = ElementType.valueOf(in.readUTF());
+                final Type clazz = Type.getType(in.readUTF());
+                final String memberName = in.readUTF();
+                @SuppressWarnings("unchecked")
+                final Map<String, Object> values = (Map<String, Object>) readValue(in);
+                annotationList.add(new ModFileScanData.AnnotationData(annotationType, targetType, clazz, memberName, values));
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug(LogMarkers.SCAN, "Ignoring unreadable scan cache entry {}", cacheFile, e);
+            return false;
+        }
+        result.getClasses().addAll(classList);
+        result.getAnnotations().addAll(annotationList);
+        return true;
+    }
+
+    /**
+     * Stores the class and annotation data of the supplied scan result. Must be called before any language loader
+     * has visited the result.
+     */
+    public void store(final ModFileScanData result) {
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            final Path tmp = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                    out.writeInt(FORMAT_VERSION);
+                    out.writeInt(result.getClasses().size());
+                    for (ModFileScanData.ClassData data : result.getClasses()) {
+                        out.writeUTF(data.clazz().getDescriptor());
+                        out.writeBoolean(data.parent() != null);
+                        if (data.parent() != null) out.writeUTF(data.parent().getDescriptor());
+                        out.writeInt(data.interfaces().size());
+                        for (Type itf : data.interfaces()) {
+                            out.writeUTF(itf.getDescriptor());
+                        }
+                    }
+                    out.writeInt(result.getAnnotations().size());
+                    for (ModFileScanData.AnnotationData data : result.getAnnotations()) {
+                        out.writeUTF(data.annotationType().getDescriptor());
+                        out.writeUTF(data.targetType().name());
+                        out.writeUTF(data.clazz().getDescriptor());
+                        out.writeUTF(data.memberName());
+                        writeValue(out, data.annotationData());
+                    }
+                }
+                Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            LOGGER.debug(LogMarkers.SCAN, "Unable to write scan cache entry {}", cacheFile, e);
+        }
+    }
+
+    private static void writeValue(final DataOutputStream out, final Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String s) {
+            out.writeByte(STRING);
+            out.writeUTF(s);
+        } else if (value instanceof Boolean b) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(b);
+        } else if (value instanceof Byte b) {
+            out.writeByte(BYTE);
+            out.writeByte(b);
+        } else if (value instanceof Character c) {
+            out.writeByte(CHAR);
+            out.writeChar(c);
+        } else if (value instanceof Short s) {
+            out.writeByte(SHORT);
+            out.writeShort(s);
+        } else if (value instanceof Integer i) {
+            out.writeByte(INT);
+            out.writeInt(i);
+        } else if (value instanceof Long l) {
+            out.writeByte(LONG);
+            out.writeLong(l);
+        } else if (value instanceof Float f) {
+            out.writeByte(FLOAT);
+            out.writeFloat(f);
+        } else if (value instanceof Double d) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(d);
+        } else if (value instanceof Type t) {
+            out.writeByte(TYPE);
+            out.writeUTF(t.getDescriptor());
+        } else if (value instanceof ModAnnotation.EnumHolder e) {
+            out.writeByte(ENUM);
+            out.writeUTF(e.getDesc());
+            out.writeUTF(e.getValue());
+        } else if (value instanceof List<?> list) {
+            out.writeByte(LIST);
+            out.writeInt(list.size());
+            for (Object o : list) {
+                writeValue(out, o);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                out.writeUTF((String) entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+        } else if (value instanceof boolean[] arr) {
+            out.writeByte(BOOLEAN_ARRAY);
+            out.writeInt(arr.length);
+            for (boolean v : arr) out.writeBoolean(v);
+        } else if (value instanceof byte[] arr) {
+            out.writeByte(BYTE_ARRAY);
+            out.writeInt(arr.length);
+            out.write(arr);
+        } else if (value instanceof char[] arr) {
+            out.writeByte(CHAR_ARRAY);
+            out.writeInt(arr.length);
+            for (char v : arr) out.writeChar(v);
+        } else if (value instanceof short[] arr) {
+            out.writeByte(SHORT_ARRAY);
+            out.writeInt(arr.length);
+            for (short v : arr) out.writeShort(v);
+        } else if (value instanceof int[] arr) {
+            out.writeByte(INT_ARRAY);
+            out.writeInt(arr.length);
+            for (int v : arr) out.writeInt(v);
+        } else if (value instanceof long[] arr) {
+            out.writeByte(LONG_ARRAY);
+            out.writeInt(arr.length);
+            for (long v : arr) out.writeLong(v);
+        } else if (value instanceof float[] arr) {
+            out.writeByte(FLOAT_ARRAY);
+            out.writeInt(arr.length);
+            for (float v : arr) out.writeFloat(v);
+        } else if (value instanceof double[] arr) {
+            out.writeByte(DOUBLE_ARRAY);
+            out.writeInt(arr.length);
+            for (double v : arr) out.writeDouble(v);
+        } else {
+            throw new IOException("Unsupported annotation value type " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(final DataInputStream in) throws IOException {
+        final byte type = in.readByte();
+        switch (type) {
+            case NULL: return null;
+            case STRING: return in.readUTF();
+            case BOOLEAN: return in.readBoolean();
+            case BYTE: return in.readByte();
+            case CHAR: return in.readChar();
+            case SHORT: return in.readShort();
+            case INT: return in.readInt();
+            case LONG: return in.readLong();
+            case FLOAT: return in.readFloat();
+            case DOUBLE: return in.readDouble();
+            case TYPE: return Type.getType(in.readUTF());
+            case ENUM: return new ModAnnotation.EnumHolder(in.readUTF(), in.readUTF());
+            case LIST: {
+                final int size = in.readInt();
+                final List<Object> list = new ArrayList<>(size);
+                for (int x = 0; x < size; x++) list.add(readValue(in));
+                return list;
+            }
+            case MAP: {
+                final int size = in.readInt();
+                final Map<String, Object> map = new HashMap<>();
+                for (int x = 0; x < size; x++) map.put(in.readUTF(), readValue(in));
+                return map;
+            }
+            case BOOLEAN_ARRAY: {
+                final boolean[] arr = new boolean[in.readInt()];
+                for (int x = 0; x < arr.length; x++) arr[x] = in.readBoolean();
+                return arr;
+            }
+            case BYTE_ARRAY: {
+                final byte[] arr = new byte[in.readInt()];
+                in.readFully(arr);
+                return arr;
+            }
+            case CHAR_ARRAY: {
+                final char[] arr = new char[in.readInt()];
+                for (int x = 0; x < arr.length; x++) arr[x] = in.readChar();
+                return arr;
+            }
+            case SHORT_ARRAY: {
+                final short[] arr = new short[in.readInt()];
+                for (int x = 0; x < arr.length; x++) arr[x] = in.readShort();
+                return arr;
+            }
+            case INT_ARRAY: {
+                final int[] arr = new int[in.readInt()];
+                for (int x = 0; x < arr.length; x++) arr[x] = in.readInt();
+                return arr;
+            }
+            case LONG_ARRAY: {
+                final long[] arr = new long[in.readInt()];
+                for (int x = 0; x < arr.length; x++) arr[x] = in.readLong();
+                return arr;
+            }
+            case FLOAT_ARRAY: {
+                final float[] arr = new float[in.readInt()];
+                for (int x = 0; x < arr.length; x++) arr[x] = in.readFloat();
+                return arr;
+            }
+            case DOUBLE_ARRAY: {
+                final double[] arr = new double[in.readInt()];
+                for (int x = 0; x < arr.length; x++) arr[x] = in.readDouble();
+                return arr;
+            }
+            default: throw new IOException("Unknown annotation value type " + type);
+        }
+    }
+}
@@ -16,10 +16,19 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 public class Scanner {
     private static final Logger LOGGER = LogUtils.getLogger();
+    // Below this many classes a file is scanned on a single thread, splitting isn't worth the overhead
+    private static final int PARALLEL_THRESHOLD = 256;
+    // Our visitors only look at class, field and method headers and their annotations
+    private static final int READER_FLAGS = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
     private final ModFile fileToScan;
 
     public Scanner(final ModFile fileToScan) {
@@ -29,7 +38,13 @@ public class Scanner {
     public ModFileScanData scan() {
         ModFileScanData result = new ModFileScanData();
         result.addModFileInfo(fileToScan.getModFileInfo());
-        fileToScan.scanFile(p -> fileVisitor(p, result));
+        final ModFileScanCache cache = ModFileScanCache.forFile(fileToScan);
+        if (cache != null && cache.load(result)) {
+            LOGGER.debug(LogMarkers.SCAN, "Loaded scan data for {} from cache", fileToScan);
+        } else {
+            scanClasses(result);
+            if (cache != null) cache.store(result);
+        }
         final List<IModLanguageProvider> loaders = fileToScan.getLoaders();
         if (loaders != null) {
             loaders.forEach(loader -> {
@@ -40,15 +55,50 @@ public class Scanner {
         return result;
     }
 
-    private void fileVisitor(final Path path, final ModFileScanData result) {
+    private void scanClasses(final ModFileScanData result) {
+        final List<Path> paths = new ArrayList<>();
+        fileToScan.scanFile(paths::add);
+        if (paths.size() < PARALLEL_THRESHOLD || !ForkJoinTask.inForkJoinPool()) {
+            paths.forEach(p -> fileVisitor(p, result.getClasses(), result.getAnnotations()));
+            return;
+        }
+
+        // Split large files across the scanning pool, merging the partial results in the original order
+        final List<ScanTask> tasks = new ArrayList<>();
+        for (int start = 0; start < paths.size(); start += PARALLEL_THRESHOLD) {
+            tasks.add(new ScanTask(paths.subList(start, Math.min(start + PARALLEL_THRESHOLD, paths.size()))));
+        }
+        ForkJoinTask.invokeAll(tasks);
+        for (ScanTask task : tasks) {
+            result.getClasses().addAll(task.classes);
+            result.getAnnotations().addAll(task.annotations);
+        }
+    }
+
+    private void fileVisitor(final Path path, final Set<ModFileScanData.ClassData> classes, final Set<ModFileScanData.AnnotationData> annotations) {
         LOGGER.debug(LogMarkers.SCAN,"Scanning {} path {}", fileToScan, path);
         try (InputStream in = Files.newInputStream(path)){
             ModClassVisitor mcv = new ModClassVisitor();
             ClassReader cr = new ClassReader(in);
-            cr.accept(mcv, 0);
-            mcv.buildData(result.getClasses(), result.getAnnotations());
+            cr.accept(mcv, READER_FLAGS);
+            mcv.buildData(classes, annotations);
         } catch (IOException | IllegalArgumentException e) {
             // mark path bad
         }
     }
+
+    private class ScanTask extends RecursiveAction {
+        private final List<Path> paths;
+        private final Set<ModFileScanData.ClassData> classes = new LinkedHashSet<>();
+        private final Set<ModFileScanData.AnnotationData> annotations = new LinkedHashSet<>();
+
+        private ScanTask(final List<Path> paths) {
+            this.paths = paths;
+        }
+
+        @Override
+        protected void compute() {
+            paths.forEach(p -> fileVisitor(p, classes, annotations));
+        }
+    }
 }
@@ -11,6 +11,7 @@ import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.forgespi.language.ModFileScanData;
 import net.minecraftforge.fml.loading.FMLEnvironment;
 import net.minecraftforge.fml.loading.moddiscovery.ModAnnotation;
+import net.minecraftforge.fml.loading.moddiscovery.ModFileAnnotationIndex;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.objectweb.asm.Type;
@@ -38,11 +39,9 @@ public class AutomaticEventSubscriber
     {
         if (scanData == null) return;
         LOGGER.debug(LOADING,"Attempting to inject @EventBusSubscriber classes into the eventbus for {}", mod.getModId());
-        List<ModFileScanData.AnnotationData> ebsTargets = scanData.getAnnotations().stream().
-                filter(annotationData -> AUTO_SUBSCRIBER.equals(annotationData.annotationType())).
-                collect(Collectors.toList());
-        Map<String, String> modids = scanData.getAnnotations().stream().
-                filter(annotationData -> MOD_TYPE.equals(annotationData.annotationType())).
+        final ModFileAnnotationIndex index = ModFileAnnotationIndex.of(scanData);
+        List<ModFileScanData.AnnotationData> ebsTargets = index.getAnnotations(AUTO_SUBSCRIBER);
+        Map<String, String> modids = index.getAnnotations(MOD_TYPE).stream().
                 collect(Collectors.toMap(a -> a.clazz().getClassName(), a -> (String)a.annotationData().get("value")));
 
         ebsTargets.forEach(ad -> {
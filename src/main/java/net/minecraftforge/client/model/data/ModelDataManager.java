@@ -6,6 +6,10 @@
 package net.minecraftforge.client.model.data;
 
 import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
@@ -19,24 +23,33 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A manager for the lifecycle of all the {@link ModelData} instances in a {@link Level}.
  * <p>
+ * Model data is stored per chunk, keyed by {@link BlockPos#asLong() packed block positions}. Refresh requests are
+ * collected per chunk and applied in a single pass the next time model data of that chunk is queried.
+ * The data of a chunk is replaced as a whole on refresh, so the maps returned by {@link #getAt(ChunkPos)} are
+ * immutable snapshots that can safely be read from chunk meshing threads.
+ * <p>
  * Users should not be instantiating or using this themselves unless they know what they're doing.
  */
 @ApiStatus.Internal
 @EventBusSubscriber(modid = "forge", bus = Bus.FORGE, value = Dist.CLIENT)
 public class ModelDataManager
 {
+    private static final Long2ObjectOpenHashMap<ModelData> EMPTY = new Long2ObjectOpenHashMap<>(0);
+
     private final Level level;
-    private final Map<ChunkPos, Set<BlockPos>> needModelDataRefresh = new ConcurrentHashMap<>();
-    private final Map<ChunkPos, Map<BlockPos, ModelData>> modelDataCache = new ConcurrentHashMap<>();
+    // Both maps are keyed by ChunkPos#toLong and guarded by this
+    private final Long2ObjectMap<LongOpenHashSet> needModelDataRefresh = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectMap<Long2ObjectOpenHashMap<ModelData>> modelDataCache = new Long2ObjectOpenHashMap<>();
 
     public ModelDataManager(Level level)
     {
@@ -46,42 +59,72 @@ public class ModelDataManager
     public void requestRefresh(@NotNull BlockEntity blockEntity)
     {
         Preconditions.checkNotNull(blockEntity, "Block entity must not be null");
-        needModelDataRefresh.computeIfAbsent(new ChunkPos(blockEntity.getBlockPos()), $ -> Collections.synchronizedSet(new HashSet<>()))
-                            .add(blockEntity.getBlockPos());
+        BlockPos pos = blockEntity.getBlockPos();
+        long chunk = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+        synchronized (this)
+        {
+            LongOpenHashSet pending = needModelDataRefresh.get(chunk);
+            if (pending == null)
+                needModelDataRefresh.put(chunk, pending = new LongOpenHashSet());
+            pending.add(pos.asLong());
+        }
     }
 
-    private void refreshAt(ChunkPos chunk)
+    /**
+     * Applies all pending refreshes of a chunk at once, publishing a new copy of its model data.
+     * Must be called while holding the lock on this manager.
+     */
+    private Long2ObjectOpenHashMap<ModelData> refreshAt(long chunk)
     {
-        Set<BlockPos> needUpdate = needModelDataRefresh.remove(chunk);
+        Long2ObjectOpenHashMap<ModelData> current = modelDataCache.getOrDefault(chunk, EMPTY);
+        LongOpenHashSet needUpdate = needModelDataRefresh.remove(chunk);
+        if (needUpdate == null)
+            return current;
 
-        if (needUpdate != null)
+        Long2ObjectOpenHashMap<ModelData> data = new Long2ObjectOpenHashMap<>(current);
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (LongIterator itr = needUpdate.iterator(); itr.hasNext(); )
         {
-            Map<BlockPos, ModelData> data = modelDataCache.computeIfAbsent(chunk, $ -> new ConcurrentHashMap<>());
-            for (BlockPos pos : needUpdate)
+            long packed = itr.nextLong();
+            BlockEntity toUpdate = level.getBlockEntity(pos.set(packed));
+            if (toUpdate != null && !toUpdate.isRemoved())
             {
-                BlockEntity toUpdate = level.getBlockEntity(pos);
-                if (toUpdate != null && !toUpdate.isRemoved())
-                {
-                    data.put(pos, toUpdate.getModelData());
-                }
-                else
-                {
-                    data.remove(pos);
-                }
+                data.put(packed, toUpdate.getModelData());
             }
+            else
+            {
+                data.remove(packed);
+            }
+        }
+
+        if (data.isEmpty())
+        {
+            modelDataCache.remove(chunk);
+            return EMPTY;
         }
+        modelDataCache.put(chunk, data);
+        return data;
     }
 
     public @Nullable ModelData getAt(BlockPos pos)
     {
-        return getAt(new ChunkPos(pos)).get(pos);
+        Preconditions.checkArgument(level.isClientSide, "Cannot request model data for server level");
+        long chunk = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+        synchronized (this)
+        {
+            return refreshAt(chunk).get(pos.asLong());
+        }
     }
 
     public Map<BlockPos, ModelData> getAt(ChunkPos pos)
     {
         Preconditions.checkArgument(level.isClientSide, "Cannot request model data for server level");
-        refreshAt(pos);
-        return modelDataCache.getOrDefault(pos, Collections.emptyMap());
+        Long2ObjectOpenHashMap<ModelData> data;
+        synchronized (this)
+        {
+            data = refreshAt(pos.toLong());
+        }
+        return data.isEmpty() ? Collections.emptyMap() : new ChunkModelData(data);
     }
 
     @SubscribeEvent
@@ -95,8 +138,87 @@ public class ModelDataManager
         if (modelDataManager == null)
             return;
 
-        ChunkPos chunk = event.getChunk().getPos();
-        modelDataManager.needModelDataRefresh.remove(chunk);
-        modelDataManager.modelDataCache.remove(chunk);
+        long chunk = event.getChunk().getPos().toLong();
+        synchronized (modelDataManager)
+        {
+            modelDataManager.needModelDataRefresh.remove(chunk);
+            modelDataManager.modelDataCache.remove(chunk);
+        }
+    }
+
+    /**
+     * Read-only view of the model data of a chunk, looking entries up by their packed position without allocating.
+     */
+    private static final class ChunkModelData extends AbstractMap<BlockPos, ModelData>
+    {
+        private final Long2ObjectOpenHashMap<ModelData> data;
+        private Set<Entry<BlockPos, ModelData>> entrySet;
+
+        private ChunkModelData(Long2ObjectOpenHashMap<ModelData> data)
+        {
+            this.data = data;
+        }
+
+        @Override
+        public ModelData get(Object key)
+        {
+            return key instanceof BlockPos pos ? data.get(pos.asLong()) : null;
+        }
+
+        @Override
+        public ModelData getOrDefault(Object key, ModelData defaultValue)
+        {
+            return key instanceof BlockPos pos ? data.getOrDefault(pos.asLong(), defaultValue) : defaultValue;
+        }
+
+        @Override
+        public boolean containsKey(Object key)
+        {
+            return key instanceof BlockPos pos && data.containsKey(pos.asLong());
+        }
+
+        @Override
+        public int size()
+        {
+            return data.size();
+        }
+
+        @Override
+        public Set<Entry<BlockPos, ModelData>> entrySet()
+        {
+            if (entrySet == null)
+            {
+                entrySet = new AbstractSet<>()
+                {
+                    @Override
+                    public Iterator<Entry<BlockPos, ModelData>> iterator()
+                    {
+                        var itr = data.long2ObjectEntrySet().iterator();
+                        return new Iterator<>()
+                        {
+                            @Override
+                            public boolean hasNext()
+                            {
+                                return itr.hasNext();
+                            }
+
+                            @Override
+                            public Entry<BlockPos, ModelData> next()
+                            {
+                                var entry = itr.next();
+                                return new SimpleImmutableEntry<>(BlockPos.of(entry.getLongKey()), entry.getValue());
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size()
+                    {
+                        return data.size();
+                    }
+                };
+            }
+            return entrySet;
+        }
     }
 }
@@ -12,9 +12,6 @@ import net.minecraft.client.renderer.block.model.BakedQuad;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.BlockAndTintGetter;
 import net.minecraft.world.level.block.state.BlockState;
-import org.joml.Vector3f;
-
-import java.util.Objects;
 
 import static net.minecraftforge.client.model.IQuadTransformer.*;
 
@@ -32,9 +29,8 @@ public abstract class QuadLighter
 
     private final BlockColors colors;
 
-    private int currentHash = 0;
     private BlockAndTintGetter level;
-    private BlockPos pos;
+    private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
     private BlockState state;
     private int cachedTintIndex = -1;
     private final float[] cachedTintColor = new float[3];
@@ -45,6 +41,7 @@ public abstract class QuadLighter
     private final float[][] positions = new float[4][3];
     private final byte[][] normals = new byte[4][3];
     private final int[] packedLightmaps = new int[4];
+    private final float[] adjustedPosition = new float[3];
 
     protected QuadLighter(BlockColors colors)
     {
@@ -59,14 +56,12 @@ public abstract class QuadLighter
 
     public final void setup(BlockAndTintGetter level, BlockPos pos, BlockState state)
     {
-        var hash = Objects.hash(level, pos, state);
-        if (this.level != null && this.currentHash == hash)
+        if (this.level == level && this.state == state && this.pos.equals(pos))
         {
             return; // If we are drawing a block at the same position as before, don't re-compute anything
         }
-        this.currentHash = hash;
         this.level = level;
-        this.pos = pos;
+        this.pos.set(pos);
         this.state = state;
         this.cachedTintIndex = -1;
         computeLightingAt(level, pos, state);
@@ -94,18 +89,25 @@ public abstract class QuadLighter
         }
         if (normals[0][0] == 0 && normals[0][1] == 0 && normals[0][2] == 0)
         {
-            Vector3f a = new Vector3f(positions[0]);
-            Vector3f ab = new Vector3f(positions[1]);
-            Vector3f ac = new Vector3f(positions[2]);
-            ac.sub(a);
-            ab.sub(a);
-            ab.cross(ac);
-            ab.normalize();
+            // Face normal from the first three vertices, (v1 - v0) x (v2 - v0)
+            float abX = positions[1][0] - positions[0][0];
+            float abY = positions[1][1] - positions[0][1];
+            float abZ = positions[1][2] - positions[0][2];
+            float acX = positions[2][0] - positions[0][0];
+            float acY = positions[2][1] - positions[0][1];
+            float acZ = positions[2][2] - positions[0][2];
+            float normalX = abY * acZ - abZ * acY;
+            float normalY = abZ * acX - abX * acZ;
+            float normalZ = abX * acY - abY * acX;
+            float invLength = 1.0f / (float) Math.sqrt(normalX * normalX + normalY * normalY + normalZ * normalZ);
+            byte x = (byte) (normalX * invLength * 127);
+            byte y = (byte) (normalY * invLength * 127);
+            byte z = (byte) (normalZ * invLength * 127);
             for (int v = 0; v < 4; v++)
             {
-                normals[v][0] = (byte) (ab.x() * 127);
-                normals[v][1] = (byte) (ab.y() * 127);
-                normals[v][2] = (byte) (ab.z() * 127);
+                normals[v][0] = x;
+                normals[v][1] = y;
+                normals[v][2] = z;
             }
         }
 
@@ -115,11 +117,9 @@ public abstract class QuadLighter
             var normal = normals[i];
             int packedLightmap = packedLightmaps[i];
 
-            var adjustedPosition = new float[] {
-                    position[0] - 0.5f + ((normal[0] / 127f) * 0.5f),
-                    position[1] - 0.5f + ((normal[1] / 127f) * 0.5f),
-                    position[2] - 0.5f + ((normal[2] / 127f) * 0.5f)
-            };
+            adjustedPosition[0] = position[0] - 0.5f + ((normal[0] / 127f) * 0.5f);
+            adjustedPosition[1] = position[1] - 0.5f + ((normal[1] / 127f) * 0.5f);
+            adjustedPosition[2] = position[2] - 0.5f + ((normal[2] / 127f) * 0.5f);
 
             var shade = level.getShade(normals[i][0] / 127f, normals[i][1] / 127f, normals[i][2] / 127f, quad.isShade());
             brightness[i] = calculateBrightness(adjustedPosition) * shade;
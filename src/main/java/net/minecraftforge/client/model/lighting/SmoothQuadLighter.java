@@ -9,6 +9,7 @@ import net.minecraft.client.color.block.BlockColors;
 import net.minecraft.client.renderer.LevelRenderer;
 import net.minecraft.client.renderer.LightTexture;
 import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.chunk.RenderChunkRegion;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.util.Mth;
@@ -17,9 +18,15 @@ import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.shapes.Shapes;
 
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
 /**
  * Implementation of {@link QuadLighter} that lights {@link BakedQuad baked quads} using ambient occlusion and
  * light interpolation.
+ * <p>
+ * The light and occlusion samples of each position are shared between the neighbouring blocks of a section rebuild,
+ * so every position is only sampled once per rebuild instead of once for each of the up to 27 blocks around it.
  */
 public class SmoothQuadLighter extends QuadLighter
 {
@@ -32,6 +39,7 @@ public class SmoothQuadLighter extends QuadLighter
     private final float[][][][] skyLight = new float[3][2][2][2];
     private final float[][][][] blockLight = new float[3][2][2][2];
     private final float[][][] ao = new float[3][3][3];
+    private final Samples samples = new Samples();
 
     public SmoothQuadLighter(BlockColors colors)
     {
@@ -41,6 +49,7 @@ public class SmoothQuadLighter extends QuadLighter
     @Override
     protected void computeLightingAt(BlockAndTintGetter level, BlockPos origin, BlockState state)
     {
+        samples.begin(level);
         for (int x = 0; x <= 2; x++)
         {
             for (int y = 0; y <= 2; y++)
@@ -48,24 +57,25 @@ public class SmoothQuadLighter extends QuadLighter
                 for (int z = 0; z <= 2; z++)
                 {
                     pos.setWithOffset(origin, x - 1, y - 1, z - 1);
-                    BlockState neighborState = level.getBlockState(pos);
-                    t[x][y][z] = neighborState.getLightBlock(level, pos) < 15;
-                    int brightness = LevelRenderer.getLightColor(level, pos);
+                    int sample = samples.get(level, pos);
+                    t[x][y][z] = samples.lightBlock[sample] < 15;
+                    int brightness = samples.lightColor[sample];
                     s[x][y][z] = LightTexture.sky(brightness);
                     b[x][y][z] = LightTexture.block(brightness);
-                    ao[x][y][z] = neighborState.getShadeBrightness(level, pos);
+                    ao[x][y][z] = samples.shadeBrightness[sample];
                 }
             }
         }
         for (Direction side : SIDES)
         {
             pos.setWithOffset(origin, side);
-            BlockState neighborState = level.getBlockState(pos);
+            int sample = samples.get(level, pos);
+            BlockState neighborState = samples.states[sample];
 
             BlockState thisStateShape = state.canOcclude() && state.useShapeForLightOcclusion() ? state : Blocks.AIR.defaultBlockState();
             BlockState otherStateShape = neighborState.canOcclude() && neighborState.useShapeForLightOcclusion() ? neighborState : Blocks.AIR.defaultBlockState();
 
-            if (neighborState.getLightBlock(level, pos) == 15 || Shapes.faceShapeOccludes(thisStateShape.getFaceOcclusionShape(level, origin, side), otherStateShape.getFaceOcclusionShape(level, pos, side.getOpposite())))
+            if (samples.lightBlock[sample] == 15 || Shapes.faceShapeOccludes(thisStateShape.getFaceOcclusionShape(level, origin, side), otherStateShape.getFaceOcclusionShape(level, pos, side.getOpposite())))
             {
                 int x = side.getStepX() + 1;
                 int y = side.getStepY() + 1;
@@ -253,4 +263,64 @@ public class SmoothQuadLighter extends QuadLighter
         l = Mth.clamp(l, 0, 1);
         return l;
     }
+
+    /**
+     * Direct mapped cache of the per position samples, indexed by the low bits of the position. Within a section every
+     * position has its own slot, positions on the border of the section may evict each other.
+     */
+    private static final class Samples
+    {
+        private static final int BITS = 4;
+        private static final int MASK = (1 << BITS) - 1;
+        private static final int SIZE = 1 << (BITS * 3);
+        private static final WeakReference<BlockAndTintGetter> NO_REGION = new WeakReference<>(null);
+
+        private final long[] positions = new long[SIZE];
+        private final int[] generations = new int[SIZE];
+        private final BlockState[] states = new BlockState[SIZE];
+        private final int[] lightBlock = new int[SIZE];
+        private final int[] lightColor = new int[SIZE];
+        private final float[] shadeBrightness = new float[SIZE];
+        // Samples are only valid for the generation they were taken in
+        private int generation;
+        // The region being rebuilt, empty when lighting blocks outside a section rebuild. Only held weakly, as lighters
+        // live as long as their thread, and a finished region would otherwise keep its level alive until the next rebuild
+        private WeakReference<BlockAndTintGetter> region = NO_REGION;
+
+        /**
+         * Starts lighting a block. Samples are kept for as long as the same section region is lit, as a region is
+         * created for every rebuild. Anything else may change at any time, so its samples are only kept for one block.
+         */
+        private void begin(BlockAndTintGetter level)
+        {
+            if (level instanceof RenderChunkRegion && level == region.get())
+                return;
+            region = level instanceof RenderChunkRegion ? new WeakReference<>(level) : NO_REGION;
+            if (++generation == 0)
+            {
+                Arrays.fill(generations, 0);
+                generation = 1;
+            }
+        }
+
+        /**
+         * @return The slot holding the samples of the position
+         */
+        private int get(BlockAndTintGetter level, BlockPos pos)
+        {
+            long packed = pos.asLong();
+            int slot = ((pos.getX() & MASK) << (BITS * 2)) | ((pos.getY() & MASK) << BITS) | (pos.getZ() & MASK);
+            if (generations[slot] != generation || positions[slot] != packed)
+            {
+                BlockState state = level.getBlockState(pos);
+                generations[slot] = generation;
+                positions[slot] = packed;
+                states[slot] = state;
+                lightBlock[slot] = state.getLightBlock(level, pos);
+                lightColor[slot] = LevelRenderer.getLightColor(level, pos);
+                shadeBrightness[slot] = state.getShadeBrightness(level, pos);
+            }
+            return slot;
+        }
+    }
 }
@@ -15,6 +15,8 @@ import org.apache.logging.log4j.LogManager;
 import net.minecraftforge.common.ForgeConfigSpec.BooleanValue;
 import net.minecraftforge.common.ForgeConfigSpec.DoubleValue;
 import net.minecraftforge.common.ForgeConfigSpec.ConfigValue;
+import net.minecraftforge.common.ForgeConfigSpec.IntValue;
+import net.minecraftforge.server.timings.TickSampler;
 
 
 public class ForgeConfig {
@@ -25,6 +27,8 @@ public class ForgeConfig {
 
         public final BooleanValue fullBoundingBoxLadders;
 
+        public final IntValue tickSamplingInterval;
+
         public final DoubleValue zombieBaseSummonChance;
         public final DoubleValue zombieBabyChance;
 
@@ -54,6 +58,11 @@ public class ForgeConfig {
                     .worldRestart()
                     .define("fullBoundingBoxLadders", false);
 
+            tickSamplingInterval = builder
+                    .comment("Continuously sample block entity, entity and level tick times, timing on average one in this many ticked objects. Results are shown by '/forge track sampler'. Set to 0 to disable.")
+                    .translation("forge.configgui.tickSamplingInterval")
+                    .defineInRange("tickSamplingInterval", 0, 0, Integer.MAX_VALUE);
+
             zombieBaseSummonChance = builder
                     .comment("Base zombie summoning spawn chance. Allows changing the bonus zombie summoning mechanic.")
                     .translation("forge.configgui.zombieBaseSummonChance")
@@ -195,11 +204,15 @@ public class ForgeConfig {
     @SubscribeEvent
     public static void onLoad(final ModConfigEvent.Loading configEvent) {
         LogManager.getLogger().debug(FORGEMOD, "Loaded forge config file {}", configEvent.getConfig().getFileName());
+        if (configEvent.getConfig().getSpec() == serverSpec)
+            TickSampler.setInterval(SERVER.tickSamplingInterval.get());
     }
 
     @SubscribeEvent
     public static void onFileChange(final ModConfigEvent.Reloading configEvent) {
         LogManager.getLogger().debug(FORGEMOD, "Forge config just got changed on the file system!");
+        if (configEvent.getConfig().getSpec() == serverSpec)
+            TickSampler.setInterval(SERVER.tickSamplingInterval.get());
     }
 
     //General
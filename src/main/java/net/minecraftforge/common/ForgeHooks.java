@@ -1224,7 +1224,7 @@ public class ForgeHooks
     public static ObjectArrayList<ItemStack> modifyLoot(ResourceLocation lootTableId, ObjectArrayList<ItemStack> generatedLoot, LootContext context) {
         context.setQueriedLootTableId(lootTableId); // In case the ID was set via copy constructor, this will be ignored: intended
         LootModifierManager man = ForgeInternalHandler.getLootModifierManager();
-        for (IGlobalLootModifier mod : man.getAllLootMods()) {
+        for (IGlobalLootModifier mod : man.getLootMods(context.getQueriedLootTableId())) {
             generatedLoot = mod.apply(generatedLoot, context);
         }
         return generatedLoot;
@@ -19,6 +19,7 @@ import net.minecraftforge.event.entity.EntityJoinLevelEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.event.level.ChunkEvent;
 import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.event.TagsUpdatedEvent;
@@ -27,6 +28,8 @@ import net.minecraftforge.event.TickEvent.ClientTickEvent;
 import net.minecraftforge.event.TickEvent.ServerTickEvent;
 import net.minecraftforge.fml.LogicalSide;
 import net.minecraftforge.common.util.LogicalSidedProvider;
+import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.network.simple.MessageBatcher;
 import net.minecraftforge.server.command.ForgeCommand;
 import net.minecraftforge.server.command.ConfigCommand;
 
@@ -66,6 +69,15 @@ public class ForgeInternalHandler
     public void onServerTick(ServerTickEvent event)
     {
         WorldWorkerManager.tick(event.phase == TickEvent.Phase.START);
+        if (event.phase == TickEvent.Phase.END)
+            MessageBatcher.flushAll(NetworkDirection.PLAY_TO_CLIENT);
+    }
+
+    @SubscribeEvent
+    public void onClientTick(ClientTickEvent event)
+    {
+        if (event.phase == TickEvent.Phase.END)
+            MessageBatcher.flushAll(NetworkDirection.PLAY_TO_SERVER);
     }
 
     @SubscribeEvent
@@ -97,6 +109,12 @@ public class ForgeInternalHandler
         UsernameCache.setUsername(event.getEntity().getUUID(), event.getEntity().getGameProfile().getName());
     }
 
+    @SubscribeEvent
+    public void onServerStopped(ServerStoppedEvent event)
+    {
+        UsernameCache.flush();
+    }
+
     @SubscribeEvent
     public void tagsUpdated(TagsUpdatedEvent event)
     {
@@ -11,6 +11,7 @@ import com.google.common.graph.GraphBuilder;
 import com.google.common.graph.MutableGraph;
 import com.google.gson.*;
 import it.unimi.dsi.fastutil.booleans.BooleanConsumer;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
@@ -30,6 +31,7 @@ import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.event.TagsUpdatedEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.fml.loading.FMLEnvironment;
 import net.minecraftforge.fml.loading.toposort.TopologicalSort;
@@ -125,12 +127,10 @@ public class TierSortingRegistry
         if (!isTierSorted(tier))
             return isCorrectTierVanilla(tier, state);
 
-        for (int x = sortedTiers.indexOf(tier) + 1; x < sortedTiers.size(); x++) {
-            TagKey<Block> tag = sortedTiers.get(x).getTag();
-            if (tag != null && state.is(tag))
-                return false;
-        }
-        return true;
+        HarvestTable table = harvestTable;
+        if (table == null)
+            harvestTable = table = new HarvestTable(sortedTiers);
+        return table.getRequiredTier(state) <= table.getIndex(tier);
     }
 
     /**
@@ -216,6 +216,9 @@ public class TierSortingRegistry
 
     private static final List<Tier> sortedTiers = new ArrayList<>();
     private static final List<Tier> sortedTiersUnmodifiable = Collections.unmodifiableList(sortedTiers);
+    // Built lazily from the sorted tiers and the current block tags, dropped whenever either of them changes
+    @Nullable
+    private static volatile HarvestTable harvestTable = null;
 
     private static final ResourceLocation CHANNEL_NAME = new ResourceLocation("forge:tier_sorting");
     private static final String PROTOCOL_VERSION = "1.0";
@@ -235,6 +238,7 @@ public class TierSortingRegistry
     {
         SYNC_CHANNEL.registerMessage(0, SyncPacket.class, SyncPacket::encode, TierSortingRegistry::receive, TierSortingRegistry::handle, Optional.of(NetworkDirection.PLAY_TO_CLIENT));
         MinecraftForge.EVENT_BUS.addListener(TierSortingRegistry::playerLoggedIn);
+        MinecraftForge.EVENT_BUS.addListener(TierSortingRegistry::tagsUpdated);
         if (FMLEnvironment.dist == Dist.CLIENT) ClientEvents.init();
     }
 
@@ -322,6 +326,7 @@ public class TierSortingRegistry
         runInServerThreadIfPossible(hasServer -> {
             sortedTiers.clear();
             sortedTiers.addAll(tierList);
+            harvestTable = null;
             if(hasServer) syncToAll();
         });
     }
@@ -341,6 +346,11 @@ public class TierSortingRegistry
         }
     }
 
+    private static void tagsUpdated(TagsUpdatedEvent event)
+    {
+        harvestTable = null;
+    }
+
     private static void playerLoggedIn(PlayerEvent.PlayerLoggedInEvent event)
     {
         if (event.getEntity() instanceof ServerPlayer serverPlayer)
@@ -382,6 +392,69 @@ public class TierSortingRegistry
         }
     }
 
+    /**
+     * Caches the highest tier whose tag contains a block state, so a harvest check is a tier index comparison.
+     * States are looked up by their id in {@link Block#BLOCK_STATE_REGISTRY}, and resolved against the tier tags the first
+     * time they are queried. Concurrent threads may resolve the same state at once, which is harmless as they store the
+     * same value.
+     */
+    private static final class HarvestTable
+    {
+        /** Marks a state that was not resolved yet, resolved states are stored as their tier index + 2 */
+        private static final int UNKNOWN = 0;
+
+        private final TagKey<Block>[] tags;
+        private final Reference2IntOpenHashMap<Tier> indices;
+        private final int[] requiredTiers;
+
+        @SuppressWarnings("unchecked")
+        private HarvestTable(List<Tier> sortedTiers)
+        {
+            this.tags = new TagKey[sortedTiers.size()];
+            this.indices = new Reference2IntOpenHashMap<>(sortedTiers.size());
+            this.indices.defaultReturnValue(-1);
+            for (int x = 0; x < sortedTiers.size(); x++)
+            {
+                Tier tier = sortedTiers.get(x);
+                this.tags[x] = tier.getTag();
+                this.indices.put(tier, x);
+            }
+            this.requiredTiers = new int[Block.BLOCK_STATE_REGISTRY.size()];
+        }
+
+        /**
+         * @return The index of the tier in the sorted tiers, or -1 if it is not sorted
+         */
+        private int getIndex(Tier tier)
+        {
+            return indices.getInt(tier);
+        }
+
+        /**
+         * @return The index of the highest tier whose tag contains the state, or -1 if no tier tag contains it
+         */
+        private int getRequiredTier(BlockState state)
+        {
+            int id = Block.BLOCK_STATE_REGISTRY.getId(state);
+            if (id < 0 || id >= requiredTiers.length)
+                return resolve(state);
+            int required = requiredTiers[id];
+            if (required == UNKNOWN)
+                requiredTiers[id] = required = resolve(state) + 2;
+            return required - 2;
+        }
+
+        private int resolve(BlockState state)
+        {
+            for (int x = tags.length - 1; x >= 0; x--)
+            {
+                if (tags[x] != null && state.is(tags[x]))
+                    return x;
+            }
+            return -1;
+        }
+    }
+
     private static class ClientEvents
     {
         public static void init()
@@ -6,26 +6,29 @@
 package net.minecraftforge.common;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
+import java.nio.file.StandardCopyOption;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-import com.google.common.base.Charsets;
 import net.minecraftforge.fml.loading.FMLLoader;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.google.common.collect.ImmutableMap;
-import com.google.common.reflect.TypeToken;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
 import org.jetbrains.annotations.Nullable;
@@ -40,14 +43,29 @@ import org.jetbrains.annotations.Nullable;
  */
 public final class UsernameCache {
 
-    private static Map<UUID, String> map = new HashMap<>();
+    private static final Map<UUID, String> map = new ConcurrentHashMap<>();
 
     private static final Path saveFile = FMLLoader.getGamePath().resolve("usernamecache.json");
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static final Path tempFile = FMLLoader.getGamePath().resolve("usernamecache.json.tmp");
+    /**
+     * Writes the cache in the background, changes made while a save is queued are written by that save.
+     * The thread does not keep the JVM alive, a queued save is flushed when the server stops or the JVM exits instead.
+     */
+    private static final ExecutorService saveExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Forge Username Cache Saver");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final AtomicBoolean saveQueued = new AtomicBoolean();
 
     private static final Logger LOGGER = LogManager.getLogger(UsernameCache.class);
     private static final Marker USRCACHE = MarkerManager.getMarker("USERNAMECACHE");
 
+    static
+    {
+        Runtime.getRuntime().addShutdownHook(new Thread(UsernameCache::flush, "Forge Username Cache Shutdown"));
+    }
+
     private UsernameCache() {}
 
     /**
@@ -63,10 +81,8 @@ public final class UsernameCache {
         Objects.requireNonNull(uuid);
         Objects.requireNonNull(username);
 
-        if (username.equals(map.get(uuid))) return;
-
-        map.put(uuid, username);
-        save();
+        if (!username.equals(map.put(uuid, username)))
+            save();
     }
 
     /**
@@ -130,76 +146,89 @@ public final class UsernameCache {
     }
 
     /**
-     * Save the cache to file
+     * Save the cache to file. The file is written on a background thread, and
+     * saves requested while one is still queued are combined with it.
      */
     protected static void save()
     {
-        new SaveThread(gson.toJson(map)).start();
+        if (saveQueued.compareAndSet(false, true))
+            saveExecutor.execute(UsernameCache::writeToFile);
     }
 
     /**
-     * Load the cache from file
+     * Writes a queued save right away, waiting for a save that is being written to finish first.
      */
-    protected static void load()
+    static synchronized void flush()
     {
-        if (!Files.exists(saveFile)) return;
+        if (saveQueued.get())
+            writeToFile();
+    }
 
-        try (final BufferedReader reader = Files.newBufferedReader(saveFile, Charsets.UTF_8))
-        {
-            @SuppressWarnings("serial")
-            Type type = new TypeToken<Map<UUID, String>>(){}.getType();
-            map = gson.fromJson(reader, type);
-        }
-        catch (JsonSyntaxException | IOException e)
+    private static synchronized void writeToFile()
+    {
+        // Cleared before reading the map, so changes made while writing queue another save
+        saveQueued.set(false);
+        try
         {
-            LOGGER.error(USRCACHE,"Could not parse username cache file as valid json, deleting file {}", saveFile, e);
+            try (final BufferedWriter out = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8);
+                 final JsonWriter writer = new JsonWriter(out))
+            {
+                writer.setIndent("  ");
+                writer.beginObject();
+                for (Map.Entry<UUID, String> entry : map.entrySet())
+                    writer.name(entry.getKey().toString()).value(entry.getValue());
+                writer.endObject();
+            }
+
             try
             {
-                Files.delete(saveFile);
+                Files.move(tempFile, saveFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
             }
-            catch (IOException e1)
+            catch (AtomicMoveNotSupportedException e)
             {
-                LOGGER.error(USRCACHE,"Could not delete file {}", saveFile.toString());
+                Files.move(tempFile, saveFile, StandardCopyOption.REPLACE_EXISTING);
             }
         }
-        finally
+        catch (IOException e)
         {
-            // Can sometimes occur when the json file is malformed
-            if (map == null)
-            {
-                map = new HashMap<>();
-            }
+            LOGGER.error(USRCACHE, "Failed to save username cache to file!", e);
         }
     }
 
     /**
-     * Used for saving the {@link com.google.gson.Gson#toJson(Object) Gson}
-     * representation of the cache to disk
+     * Load the cache from file
      */
-    private static class SaveThread extends Thread {
-
-        /** The data that will be saved to disk */
-        private final String data;
+    protected static void load()
+    {
+        if (!Files.exists(saveFile)) return;
 
-        public SaveThread(String data)
+        // Streamed instead of bound through Gson, the file can hold a very large amount of players
+        try (final BufferedReader in = Files.newBufferedReader(saveFile, StandardCharsets.UTF_8);
+             final JsonReader reader = new JsonReader(in))
         {
-            this.data = data;
+            map.clear();
+            reader.beginObject();
+            while (reader.hasNext())
+            {
+                UUID uuid = UUID.fromString(reader.nextName());
+                if (reader.peek() == JsonToken.NULL)
+                    reader.nextNull();
+                else
+                    map.put(uuid, reader.nextString());
+            }
+            reader.endObject();
         }
-
-        @Override
-        public void run()
+        catch (IOException | IllegalStateException | IllegalArgumentException e)
         {
+            map.clear();
+            LOGGER.error(USRCACHE,"Could not parse username cache file as valid json, deleting file {}", saveFile, e);
             try
             {
-                // Make sure we don't save when another thread is still saving
-                synchronized (saveFile)
-                {
-                    Files.write(saveFile, data.getBytes(StandardCharsets.UTF_8));
-                }
+                Files.delete(saveFile);
             }
-            catch (IOException e)
+            catch (IOException e1)
             {
-                LOGGER.error(USRCACHE, "Failed to save username cache to file!", e);
+                LOGGER.error(USRCACHE,"Could not delete file {}", saveFile.toString());
             }
         }
     }
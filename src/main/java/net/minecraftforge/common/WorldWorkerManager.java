@@ -7,67 +7,237 @@ package net.minecraftforge.common;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Runs long running {@link IWorker tasks} in the time left over at the end of each server tick.
+ * <p>
+ * The time budget is the measured slack of the current tick, so a lagging server only spends {@link #MIN_BUDGET}
+ * on its workers. Workers share the budget in a weighted round robin, each pass splitting the remaining time
+ * between the workers that still want to run according to their {@link IWorker#getWeight() weight}, and the
+ * worker that goes first changes every tick.
+ * Workers that {@link IWorker#isThreadSafe() do not touch world state} run on a background thread instead.
+ */
 public class WorldWorkerManager
 {
-    private static List<IWorker> workers = new ArrayList<IWorker>();
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    /** The budget workers get when the tick has no slack left, so they still make some progress while the server lags. */
+    private static final long MIN_BUDGET = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final AtomicInteger THREAD_ID = new AtomicInteger();
+    private static final ExecutorService OFF_THREAD = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "Forge World Worker-" + THREAD_ID.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Queue<Worker> pending = new ConcurrentLinkedQueue<>();
+    private static final List<Worker> workers = new ArrayList<>();
+    private static final List<Worker> offThread = new ArrayList<>();
     private static long startTime = -1;
-    private static int index = 0;
+    private static int cursor = 0;
 
     public static void tick(boolean start)
     {
         if (start)
         {
-            startTime = System.currentTimeMillis();
+            startTime = System.nanoTime();
             return;
         }
 
-        index = 0;
-        IWorker task = getNext();
-        if (task == null)
+        drainPending();
+        if (workers.isEmpty())
             return;
 
-        long time = 50 - (System.currentTimeMillis() - startTime);
-        if (time < 10)
-            time = 10; //If ticks are lagging, give us at least 10ms to do something.
-        time += System.currentTimeMillis();
+        long now = System.nanoTime();
+        long budget = startTime == -1 ? MIN_BUDGET : Math.max(MIN_BUDGET, TICK_NANOS - (now - startTime));
+        long deadline = now + budget;
+
+        workers.forEach(w -> { w.lastTickNanos = 0; w.again = w.worker.hasWork(); });
+        cursor = cursor >= workers.size() ? 0 : cursor;
+        int first = cursor++;
 
-        while (System.currentTimeMillis() < time && task != null)
+        // Each pass splits the time that is left between the workers that still want to run, until either no worker wants
+        // more time this tick or the budget is used up.
+        boolean ran = true;
+        while (ran && (now = System.nanoTime()) < deadline)
         {
-            boolean again = task.doWork();
+            int totalWeight = 0;
+            for (Worker w : workers)
+                if (w.again)
+                    totalWeight += w.weight;
+            if (totalWeight == 0)
+                break;
 
-            if (!task.hasWork())
+            ran = false;
+            long remaining = deadline - now;
+            for (int x = 0; x < workers.size(); x++)
             {
-                remove(task);
-                task = getNext();
+                Worker w = workers.get((first + x) % workers.size());
+                if (!w.again)
+                    continue;
+                ran = true;
+                runSlice(w, Math.min(deadline, System.nanoTime() + Math.max(1, remaining * w.weight / totalWeight)));
+                if (System.nanoTime() >= deadline)
+                    break;
             }
-            else if (!again)
+        }
+
+        workers.removeIf(w -> !w.worker.hasWork());
+    }
+
+    private static void runSlice(Worker w, long sliceEnd)
+    {
+        do
+        {
+            long start = System.nanoTime();
+            boolean again = w.worker.doWork();
+            w.record(System.nanoTime() - start);
+            if (!again || !w.worker.hasWork())
             {
-                task = getNext();
+                w.again = false;
+                return;
             }
         }
+        while (System.nanoTime() < sliceEnd);
     }
 
-    public static synchronized void addWorker(IWorker worker)
+    private static void drainPending()
     {
-        workers.add(worker);
+        Worker w;
+        while ((w = pending.poll()) != null)
+            workers.add(w);
     }
 
-    private static synchronized IWorker getNext()
+    public static void addWorker(IWorker worker)
     {
-        return workers.size() > index ? workers.get(index++) : null;
+        Worker w = new Worker(worker);
+        if (!w.offThread)
+        {
+            pending.add(w);
+            return;
+        }
+        synchronized (offThread)
+        {
+            offThread.add(w);
+            w.future = OFF_THREAD.submit(() -> runOffThread(w));
+        }
     }
 
-    private static synchronized void remove(IWorker worker)
+    private static void runOffThread(Worker w)
     {
-        workers.remove(worker);
-        index--;
+        try
+        {
+            while (!w.cancelled && w.worker.hasWork())
+            {
+                long start = System.nanoTime();
+                boolean again = w.worker.doWork();
+                w.record(System.nanoTime() - start);
+                if (!again)
+                    LockSupport.parkNanos(TICK_NANOS); // Same behavior as on the server thread, try again next tick
+            }
+        }
+        catch (Exception e)
+        {
+            LOGGER.error("Off-thread world worker {} failed", w.worker, e);
+        }
+        finally
+        {
+            synchronized (offThread)
+            {
+                offThread.remove(w);
+            }
+        }
+    }
+
+    /**
+     * Must be called on the server thread.
+     *
+     * @return A snapshot of the time spent in every worker that is currently scheduled, in no particular order
+     */
+    public static List<WorkerStats> getStats()
+    {
+        List<WorkerStats> ret = new ArrayList<>();
+        for (Worker w : workers)
+            ret.add(w.stats());
+        for (Worker w : pending)
+            ret.add(w.stats());
+        synchronized (offThread)
+        {
+            for (Worker w : offThread)
+                ret.add(w.stats());
+        }
+        return ret;
     }
 
     //Internal only, used to clear everything when the server shuts down.
-    public static synchronized void clear()
+    public static void clear()
     {
+        pending.clear();
         workers.clear();
+        synchronized (offThread)
+        {
+            for (Worker w : offThread)
+            {
+                w.cancelled = true;
+                if (w.future != null)
+                    w.future.cancel(true);
+            }
+            offThread.clear();
+        }
+    }
+
+    /**
+     * Time accounting of a single worker.
+     *
+     * @param totalNanos The total time spent in {@link IWorker#doWork()}
+     * @param invocations How often {@link IWorker#doWork()} was called
+     * @param lastTickNanos The time spent in the last server tick, always 0 for off-thread workers
+     */
+    public record WorkerStats(IWorker worker, int weight, boolean offThread, long totalNanos, long invocations, long lastTickNanos) {}
+
+    private static class Worker
+    {
+        private final IWorker worker;
+        private final int weight;
+        private final boolean offThread;
+        // Written by the thread running the worker only, volatile so stats can be read from any thread
+        private volatile long totalNanos;
+        private volatile long invocations;
+        private volatile long lastTickNanos;
+        private volatile boolean cancelled;
+        private boolean again;
+        private Future<?> future;
+
+        private Worker(IWorker worker)
+        {
+            this.worker = worker;
+            this.weight = Math.max(1, worker.getWeight());
+            this.offThread = worker.isThreadSafe();
+        }
+
+        private void record(long nanos)
+        {
+            totalNanos += nanos;
+            invocations++;
+            if (!offThread)
+                lastTickNanos += nanos;
+        }
+
+        private WorkerStats stats()
+        {
+            return new WorkerStats(worker, weight, offThread, totalNanos, invocations, lastTickNanos);
+        }
     }
 
     public static interface IWorker
@@ -79,5 +249,23 @@ public class WorldWorkerManager
          * Returning false will skip calling this worker until next tick.
          */
         boolean doWork();
+
+        /**
+         * The share of the tick budget this worker gets, relative to the other workers that want to run in the same tick.
+         */
+        default int getWeight()
+        {
+            return 1;
+        }
+
+        /**
+         * Workers that do not touch any world state can return true here to be run on a background thread instead
+         * of the server thread. Such a worker is called continuously, returning false from {@link #doWork()} pauses
+         * it for about a tick.
+         */
+        default boolean isThreadSafe()
+        {
+            return false;
+        }
     }
 }
@@ -7,11 +7,14 @@ package net.minecraftforge.common.capabilities;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 import net.minecraft.MethodsReturnNonnullByDefault;
 import net.minecraft.nbt.Tag;
@@ -30,6 +33,8 @@ import org.jetbrains.annotations.Nullable;
  * our handlers using normal if statements.
  *
  * Internally the handlers are baked into arrays for fast iteration.
+ * Providers that declared their exposed capabilities are additionally indexed by capability,
+ * so lookups only visit the providers that can possibly answer them.
  * The ResourceLocations will be used for the NBT Key when serializing.
  */
 @ParametersAreNonnullByDefault
@@ -37,6 +42,9 @@ import org.jetbrains.annotations.Nullable;
 public final class CapabilityDispatcher implements INBTSerializable<CompoundTag>, ICapabilityProvider
 {
     private ICapabilityProvider[] caps;
+    private ICapabilityProvider[] undeclared;
+    private Capability<?>[] indexedCaps;
+    private ICapabilityProvider[][] indexedProviders;
     private INBTSerializable<Tag>[] writers;
     private String[] names;
     private final List<Runnable> listeners;
@@ -46,10 +54,17 @@ public final class CapabilityDispatcher implements INBTSerializable<CompoundTag>
         this(list, listeners, null);
     }
 
-    @SuppressWarnings("unchecked")
     public CapabilityDispatcher(Map<ResourceLocation, ICapabilityProvider> list, List<Runnable> listeners, @Nullable ICapabilityProvider parent)
+    {
+        this(list, Collections.emptyMap(), listeners, parent);
+    }
+
+    @SuppressWarnings("unchecked")
+    public CapabilityDispatcher(Map<ResourceLocation, ICapabilityProvider> list, Map<ResourceLocation, Set<Capability<?>>> exposed, List<Runnable> listeners, @Nullable ICapabilityProvider parent)
     {
         List<ICapabilityProvider> lstCaps = Lists.newArrayList();
+        List<Set<Capability<?>>> lstExposed = Lists.newArrayList();
+        Set<Capability<?>> declared = Sets.newLinkedHashSet();
         List<INBTSerializable<Tag>> lstWriters = Lists.newArrayList();
         List<String> lstNames = Lists.newArrayList();
         this.listeners = listeners;
@@ -57,6 +72,7 @@ public final class CapabilityDispatcher implements INBTSerializable<CompoundTag>
         if (parent != null) // Parents go first!
         {
             lstCaps.add(parent);
+            lstExposed.add(null);
             if (parent instanceof INBTSerializable)
             {
                 lstWriters.add((INBTSerializable<Tag>)parent);
@@ -68,6 +84,10 @@ public final class CapabilityDispatcher implements INBTSerializable<CompoundTag>
         {
             ICapabilityProvider prov = entry.getValue();
             lstCaps.add(prov);
+            Set<Capability<?>> provExposed = exposed.get(entry.getKey());
+            lstExposed.add(provExposed);
+            if (provExposed != null)
+                declared.addAll(provExposed);
             if (prov instanceof INBTSerializable)
             {
                 lstWriters.add((INBTSerializable<Tag>)prov);
@@ -78,13 +98,47 @@ public final class CapabilityDispatcher implements INBTSerializable<CompoundTag>
         caps = lstCaps.toArray(new ICapabilityProvider[lstCaps.size()]);
         writers = lstWriters.toArray(new INBTSerializable[lstWriters.size()]);
         names = lstNames.toArray(new String[lstNames.size()]);
+
+        // Every capability that no provider declared is answered by the undeclared providers alone,
+        // declared capabilities get their own candidate list, keeping the original provider order.
+        List<ICapabilityProvider> lstUndeclared = Lists.newArrayList();
+        for (int x = 0; x < caps.length; x++)
+        {
+            if (lstExposed.get(x) == null)
+                lstUndeclared.add(caps[x]);
+        }
+        undeclared = lstUndeclared.size() == caps.length ? caps : lstUndeclared.toArray(new ICapabilityProvider[lstUndeclared.size()]);
+
+        indexedCaps = declared.toArray(new Capability<?>[declared.size()]);
+        indexedProviders = new ICapabilityProvider[indexedCaps.length][];
+        for (int x = 0; x < indexedCaps.length; x++)
+        {
+            List<ICapabilityProvider> candidates = Lists.newArrayList();
+            for (int y = 0; y < caps.length; y++)
+            {
+                Set<Capability<?>> provExposed = lstExposed.get(y);
+                if (provExposed == null || provExposed.contains(indexedCaps[x]))
+                    candidates.add(caps[y]);
+            }
+            indexedProviders[x] = candidates.toArray(new ICapabilityProvider[candidates.size()]);
+        }
     }
 
 
     @Override
     public <T> LazyOptional<T> getCapability(Capability<T> cap, @Nullable Direction side)
     {
-        for (ICapabilityProvider c : caps)
+        ICapabilityProvider[] providers = undeclared;
+        for (int x = 0; x < indexedCaps.length; x++)
+        {
+            if (indexedCaps[x] == cap)
+            {
+                providers = indexedProviders[x];
+                break;
+            }
+        }
+
+        for (ICapabilityProvider c : providers)
         {
             LazyOptional<T> ret = c.getCapability(cap, side);
             //noinspection ConstantConditions
@@ -133,7 +187,31 @@ public final class CapabilityDispatcher implements INBTSerializable<CompoundTag>
     {                                                        // Only compares serializeable caps.
         if (other == null) return this.writers.length == 0;  // Done this way so we can do some pre-checks before doing the costly NBT serialization and compare
         if (this.writers.length == 0) return other.writers.length == 0;
-        return this.serializeNBT().equals(other.serializeNBT());
+        if (this.writers.length != other.writers.length) return this.serializeNBT().equals(other.serializeNBT());
+
+        for (int x = 0; x < writers.length; x++)
+        {
+            if (!names[x].equals(other.names[x])) // Differently ordered keys, let the full compare sort it out
+                return this.serializeNBT().equals(other.serializeNBT());
+        }
+
+        // Compare provider by provider, so comparable providers never allocate NBT
+        // and a mismatch bails out before serializing the remaining ones.
+        for (int x = 0; x < writers.length; x++)
+        {
+            INBTSerializable<Tag> mine = writers[x];
+            INBTSerializable<Tag> theirs = other.writers[x];
+            if (mine instanceof IComparableCapability cMine && theirs instanceof IComparableCapability cTheirs)
+            {
+                if (cMine.getStateHash() != cTheirs.getStateHash() || !cMine.isStateEqual(theirs))
+                    return false;
+            }
+            else if (!mine.serializeNBT().equals(theirs.serializeNBT()))
+            {
+                return false;
+            }
+        }
+        return true;
     }
 
     public void invalidate()
@@ -6,6 +6,7 @@
 package net.minecraftforge.common.capabilities;
 
 import net.minecraftforge.fml.ModLoader;
+import net.minecraftforge.fml.loading.moddiscovery.ModFileAnnotationIndex;
 import net.minecraftforge.forgespi.language.ModFileScanData;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -65,8 +66,7 @@ public enum CapabilityManager
     public void injectCapabilities(List<ModFileScanData> data)
     {
         var autos = data.stream()
-            .flatMap(e -> e.getAnnotations().stream())
-            .filter(a -> AUTO_REGISTER.equals(a.annotationType()))
+            .flatMap(e -> ModFileAnnotationIndex.of(e).getAnnotations(AUTO_REGISTER).stream())
             .map(a -> a.clazz())
             .distinct()
             .sorted(Comparator.comparing(Type::toString))
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.common.capabilities;
+
+import net.minecraftforge.common.util.INBTSerializable;
+
+/**
+ * Optional contract for {@link INBTSerializable} capability providers that lets
+ * {@link CapabilityDispatcher#areCompatible(CapabilityDispatcher)} compare two providers
+ * without serializing them to NBT first.
+ *
+ * Both methods must agree with the serialized form: two providers whose {@link INBTSerializable#serializeNBT()}
+ * results are equal must report equal state hashes and be considered equal by {@link #isStateEqual(Object)}.
+ * Implementations are encouraged to cache the state hash and only recompute it after their state changed,
+ * as it is queried every time an {@link net.minecraft.world.item.ItemStack} carrying the provider is compared.
+ */
+public interface IComparableCapability
+{
+    /**
+     * @return A hash of the serializable state of this provider.
+     */
+    int getStateHash();
+
+    /**
+     * Compares the serializable state of this provider with the provider attached under the same key to another object.
+     *
+     * @param other The other provider, usually but not necessarily of the same class
+     * @return true if both providers would serialize to equal NBT.
+     */
+    boolean isStateEqual(Object other);
+}
@@ -6,14 +6,17 @@
 package net.minecraftforge.common.crafting;
 
 import com.google.gson.JsonElement;
+import it.unimi.dsi.fastutil.ints.IntList;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.tags.TagKey;
+import net.minecraft.world.entity.player.StackedContents;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
 import net.minecraft.world.level.ItemLike;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.BitSet;
 import java.util.stream.Stream;
 
 /**
@@ -43,6 +46,18 @@ public abstract class AbstractIngredient extends Ingredient
     @Override
     public abstract JsonElement toJson();
 
+    /**
+     * Collects stacking ids into a set that can be tested without allocating, a simple ingredient matches a stack
+     * exactly if the set contains the {@link StackedContents#getStackingIndex(ItemStack) stacking index} of the stack.
+     */
+    static BitSet toStackingIdSet(IntList stackingIds)
+    {
+        BitSet set = new BitSet();
+        for (int i = 0; i < stackingIds.size(); i++)
+            set.set(stackingIds.getInt(i));
+        return set;
+    }
+
 
     /* Hide vanilla ingredient static constructors to reduce errors with constructing custom ingredients */
 
@@ -6,6 +6,7 @@
 package net.minecraftforge.common.crafting;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -21,6 +22,7 @@ import com.google.gson.JsonSyntaxException;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntComparators;
 import it.unimi.dsi.fastutil.ints.IntList;
+import net.minecraft.world.entity.player.StackedContents;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
 import net.minecraft.network.FriendlyByteBuf;
@@ -34,6 +36,11 @@ public class CompoundIngredient extends AbstractIngredient
     private ItemStack[] stacks;
     private IntList itemIds;
     private final boolean isSimple;
+    // Stacking ids matched by the simple children, only the other children are tested one by one
+    @Nullable
+    private BitSet simpleItems;
+    @Nullable
+    private Ingredient[] complexChildren;
 
     protected CompoundIngredient(List<Ingredient> children)
     {
@@ -108,7 +115,40 @@ public class CompoundIngredient extends AbstractIngredient
         if (target == null)
             return false;
 
-        return children.stream().anyMatch(c -> c.test(target));
+        // Empty children match empty stacks, which have no stacking id to look up
+        if (target.isEmpty())
+        {
+            for (Ingredient child : children)
+                if (child.test(target))
+                    return true;
+            return false;
+        }
+
+        BitSet simpleItems = this.simpleItems;
+        Ingredient[] complexChildren = this.complexChildren;
+        if (simpleItems == null || complexChildren == null || checkInvalidation())
+        {
+            markValid();
+            simpleItems = new BitSet();
+            List<Ingredient> complex = new ArrayList<>();
+            for (Ingredient child : children)
+            {
+                if (child.isSimple())
+                    simpleItems.or(toStackingIdSet(child.getStackingIds()));
+                else
+                    complex.add(child);
+            }
+            complexChildren = complex.toArray(new Ingredient[0]);
+            this.simpleItems = simpleItems;
+            this.complexChildren = complexChildren;
+        }
+
+        if (simpleItems.get(StackedContents.getStackingIndex(target)))
+            return true;
+        for (Ingredient child : complexChildren)
+            if (child.test(target))
+                return true;
+        return false;
     }
 
     @Override
@@ -116,6 +156,8 @@ public class CompoundIngredient extends AbstractIngredient
     {
         this.itemIds = null;
         this.stacks = null;
+        this.simpleItems = null;
+        this.complexChildren = null;
     }
 
     @Override
@@ -17,6 +17,7 @@ import net.minecraft.world.item.crafting.Ingredient;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
+import java.util.BitSet;
 
 /** Ingredient that matches everything from the first ingredient that is not included in the second ingredient */
 public class DifferenceIngredient extends AbstractIngredient
@@ -25,6 +26,8 @@ public class DifferenceIngredient extends AbstractIngredient
     private final Ingredient subtracted;
     private ItemStack[] filteredMatchingStacks;
     private IntList packedMatchingStacks;
+    @Nullable
+    private BitSet matchingItems;
 
     protected DifferenceIngredient(Ingredient base, Ingredient subtracted)
     {
@@ -48,6 +51,15 @@ public class DifferenceIngredient extends AbstractIngredient
     {
         if (stack == null || stack.isEmpty())
             return false;
+
+        // Simple ingredients only look at the item, so the difference is known up front
+        if (isSimple())
+        {
+            BitSet matchingItems = this.matchingItems;
+            if (matchingItems == null || checkInvalidation())
+                this.matchingItems = matchingItems = toStackingIdSet(getStackingIds());
+            return matchingItems.get(StackedContents.getStackingIndex(stack));
+        }
         return base.test(stack) && !subtracted.test(stack);
     }
 
@@ -79,6 +91,7 @@ public class DifferenceIngredient extends AbstractIngredient
         super.invalidate();
         this.filteredMatchingStacks = null;
         this.packedMatchingStacks = null;
+        this.matchingItems = null;
     }
 
     @Override
@@ -20,6 +20,7 @@ import net.minecraft.world.item.crafting.Ingredient;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.IntStream;
@@ -32,6 +33,8 @@ public class IntersectionIngredient extends AbstractIngredient
     private final boolean isSimple;
     private ItemStack[] intersectedMatchingStacks = null;
     private IntList packedMatchingStacks = null;
+    @Nullable
+    private BitSet matchingItems = null;
     protected IntersectionIngredient(List<Ingredient> children)
     {
         if (children.size() < 2)
@@ -61,6 +64,15 @@ public class IntersectionIngredient extends AbstractIngredient
         if (stack == null || stack.isEmpty())
             return false;
 
+        // Simple children only look at the item, so the intersection is known up front
+        if (isSimple)
+        {
+            BitSet matchingItems = this.matchingItems;
+            if (matchingItems == null || checkInvalidation())
+                this.matchingItems = matchingItems = toStackingIdSet(getStackingIds());
+            return matchingItems.get(StackedContents.getStackingIndex(stack));
+        }
+
         for (Ingredient ingredient : children)
             if (!ingredient.test(stack))
                 return false;
@@ -106,6 +118,7 @@ public class IntersectionIngredient extends AbstractIngredient
         super.invalidate();
         this.intersectedMatchingStacks = null;
         this.packedMatchingStacks = null;
+        this.matchingItems = null;
     }
 
     @Override
@@ -20,6 +20,7 @@ import net.minecraft.world.level.storage.loot.Deserializers;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
 import com.google.gson.Gson;
@@ -32,6 +33,7 @@ import net.minecraft.util.profiling.ProfilerFiller;
 import net.minecraft.server.packs.resources.Resource;
 import net.minecraft.server.packs.resources.ResourceManager;
 import net.minecraft.util.GsonHelper;
+import net.minecraft.world.level.storage.loot.predicates.LootItemCondition;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.registries.ForgeRegistries;
 
@@ -40,6 +42,8 @@ public class LootModifierManager extends SimpleJsonResourceReloadListener {
     public static final Gson GSON_INSTANCE = Deserializers.createFunctionSerializer().create();
 
     private Map<ResourceLocation, IGlobalLootModifier> registeredLootModifiers = ImmutableMap.of();
+    private Map<ResourceLocation, List<IGlobalLootModifier>> lootModifiersByTable = ImmutableMap.of();
+    private List<IGlobalLootModifier> untargetedLootModifiers = ImmutableList.of();
     private static final String folder = "loot_modifiers";
 
     public LootModifierManager() {
@@ -83,6 +87,56 @@ public class LootModifierManager extends SimpleJsonResourceReloadListener {
                 .ifPresent(modifier -> builder.put(location, modifier));
         }
         this.registeredLootModifiers = builder.build();
+        buildTableIndex();
+    }
+
+    /**
+     * Groups the modifiers by the loot table they are restricted to through a top level {@link LootTableIdCondition},
+     * so a loot roll only has to visit the modifiers that can apply to its table. Each indexed list also contains
+     * every modifier that isn't restricted to a table, keeping the layered order.
+     */
+    private void buildTableIndex() {
+        Map<IGlobalLootModifier, ResourceLocation> targets = new IdentityHashMap<>();
+        Set<IGlobalLootModifier> neverApplied = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<ResourceLocation> tables = new LinkedHashSet<>();
+        for (IGlobalLootModifier modifier : registeredLootModifiers.values()) {
+            if (!(modifier instanceof LootModifier lootModifier))
+                continue;
+            ResourceLocation target = null;
+            for (LootItemCondition condition : lootModifier.conditions) {
+                if (!(condition instanceof LootTableIdCondition tableCondition))
+                    continue;
+                if (target != null && !target.equals(tableCondition.getTargetLootTableId())) {
+                    neverApplied.add(modifier); // Requires two different tables at once
+                    break;
+                }
+                target = tableCondition.getTargetLootTableId();
+            }
+            if (target != null && !neverApplied.contains(modifier)) {
+                targets.put(modifier, target);
+                tables.add(target);
+            }
+        }
+
+        ImmutableList.Builder<IGlobalLootModifier> untargeted = ImmutableList.builder();
+        Map<ResourceLocation, ImmutableList.Builder<IGlobalLootModifier>> byTable = new HashMap<>();
+        tables.forEach(table -> byTable.put(table, ImmutableList.builder()));
+        for (IGlobalLootModifier modifier : registeredLootModifiers.values()) {
+            if (neverApplied.contains(modifier))
+                continue;
+            ResourceLocation target = targets.get(modifier);
+            if (target != null) {
+                byTable.get(target).add(modifier);
+            } else {
+                untargeted.add(modifier);
+                byTable.values().forEach(list -> list.add(modifier));
+            }
+        }
+
+        Builder<ResourceLocation, List<IGlobalLootModifier>> index = ImmutableMap.builder();
+        byTable.forEach((table, list) -> index.put(table, list.build()));
+        this.lootModifiersByTable = index.build();
+        this.untargetedLootModifiers = untargeted.build();
     }
 
     /**
@@ -92,4 +146,12 @@ public class LootModifierManager extends SimpleJsonResourceReloadListener {
         return registeredLootModifiers.values();
     }
 
+    /**
+     * An immutable list of the loot modifiers that may apply to the given loot table, in layered order.
+     * Modifiers restricted to other loot tables through a top level {@link LootTableIdCondition} are skipped.
+     */
+    public List<IGlobalLootModifier> getLootMods(ResourceLocation lootTableId) {
+        return lootModifiersByTable.getOrDefault(lootTableId, untargetedLootModifiers);
+    }
+
 }
@@ -28,6 +28,11 @@ public class LootTableIdCondition implements LootItemCondition
         this.targetLootTableId = targetLootTableId;
     }
 
+    ResourceLocation getTargetLootTableId()
+    {
+        return this.targetLootTableId;
+    }
+
     @Override
     public LootItemConditionType getType()
     {
@@ -63,6 +63,32 @@ public interface BiomeModifier
      */
     void modify(Holder<Biome> biome, Phase phase, BiomeInfo.Builder builder);
 
+    /**
+     * Biome modifiers are skipped entirely for biomes this returns false for, before any phase runs.
+     * Modifiers that only affect some biomes should override this to let Forge filter the biomes up front.
+     * <p>
+     * Both this and {@link #modify} may be called concurrently for different biomes if {@link #isThreadSafe()} is true.
+     *
+     * @param biome the named biome that is about to be modified.
+     * @return true if {@link #modify} should be called for the biome
+     */
+    default boolean appliesTo(Holder<Biome> biome)
+    {
+        return true;
+    }
+
+    /**
+     * Forge applies modifiers to the biomes in parallel when every modifier is thread safe, and one biome at a time otherwise.
+     * Override this to return true only if {@link #appliesTo} and {@link #modify} just read shared state, and only write
+     * to the builder they were given.
+     *
+     * @return true if this modifier may be applied to different biomes at the same time
+     */
+    default boolean isThreadSafe()
+    {
+        return false;
+    }
+
     /**
      * @return the codec which serializes and deserializes this biome modifier
      */
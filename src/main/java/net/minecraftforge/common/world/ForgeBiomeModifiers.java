@@ -55,6 +55,18 @@ public final class ForgeBiomeModifiers
             }
         }
 
+        @Override
+        public boolean appliesTo(Holder<Biome> biome)
+        {
+            return this.biomes.contains(biome);
+        }
+
+        @Override
+        public boolean isThreadSafe()
+        {
+            return true;
+        }
+
         @Override
         public Codec<? extends BiomeModifier> codec()
         {
@@ -102,6 +114,18 @@ public final class ForgeBiomeModifiers
             }
         }
 
+        @Override
+        public boolean appliesTo(Holder<Biome> biome)
+        {
+            return this.biomes.contains(biome);
+        }
+
+        @Override
+        public boolean isThreadSafe()
+        {
+            return true;
+        }
+
         @Override
         public Codec<? extends BiomeModifier> codec()
         {
@@ -174,6 +198,18 @@ public final class ForgeBiomeModifiers
             }
         }
 
+        @Override
+        public boolean appliesTo(Holder<Biome> biome)
+        {
+            return this.biomes.contains(biome);
+        }
+
+        @Override
+        public boolean isThreadSafe()
+        {
+            return true;
+        }
+
         @Override
         public Codec<? extends BiomeModifier> codec()
         {
@@ -210,6 +246,18 @@ public final class ForgeBiomeModifiers
             }
         }
 
+        @Override
+        public boolean appliesTo(Holder<Biome> biome)
+        {
+            return this.biomes.contains(biome);
+        }
+
+        @Override
+        public boolean isThreadSafe()
+        {
+            return true;
+        }
+
         @Override
         public Codec<? extends BiomeModifier> codec()
         {
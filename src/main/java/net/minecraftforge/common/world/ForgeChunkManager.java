@@ -8,6 +8,10 @@ package net.minecraftforge.common.world;
 import com.mojang.datafixers.util.Pair;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongCollection;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongList;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
 import java.util.Collections;
@@ -16,9 +20,11 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import javax.annotation.ParametersAreNonnullByDefault;
+import net.minecraft.Util;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.Tag;
@@ -27,6 +33,8 @@ import net.minecraft.nbt.NbtUtils;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.ForcedChunksSavedData;
+import net.minecraft.world.level.chunk.ChunkStatus;
+import net.minecraft.server.level.ServerChunkCache;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.TicketType;
 import net.minecraftforge.fml.ModList;
@@ -41,6 +49,12 @@ public class ForgeChunkManager
     private static final TicketType<TicketOwner<BlockPos>> BLOCK_TICKING = TicketType.create("forge:block_ticking", Comparator.comparing(info -> info));
     private static final TicketType<TicketOwner<UUID>> ENTITY = TicketType.create("forge:entity", Comparator.comparing(info -> info));
     private static final TicketType<TicketOwner<UUID>> ENTITY_TICKING = TicketType.create("forge:entity_ticking", Comparator.comparing(info -> info));
+    /**
+     * The most chunks a rectangle passed to {@link #forceChunks(ServerLevel, String, UUID, ChunkPos, ChunkPos, boolean, boolean)} may hold,
+     * a square of 64 by 64 chunks. Every chunk gets its own ticket and load on the server thread, so larger areas have to be split
+     * over several calls by the caller.
+     */
+    public static final int MAX_AREA = 4096;
     private static final Map<String, LoadingValidationCallback> callbacks = new HashMap<>();
 
     /**
@@ -100,6 +114,152 @@ public class ForgeChunkManager
         return forceChunk(level, modId, owner, chunkX, chunkZ, add, ticking, ticking ? ENTITY_TICKING : ENTITY, ForcedChunksSavedData::getEntityForcedChunks);
     }
 
+    /**
+     * Forces a set of chunks to be loaded for the given mod with the "owner" of the tickets being a given block position.
+     * <p>
+     * Unlike {@link #forceChunk(ServerLevel, String, BlockPos, int, int, boolean, boolean)} this does not load the chunks on the calling thread,
+     * they are loaded by the chunk system in the background instead.
+     *
+     * @param chunks  The {@link ChunkPos#toLong() packed positions} of the chunks.
+     * @param add     {@code true} to force the chunks, {@code false} to unforce the chunks.
+     * @param ticking {@code true} to make the chunks receive full chunk ticks even if there is no player nearby.
+     * @return A future completed once every chunk that was newly forced has been loaded, or right away when unforcing.
+     *         It completes exceptionally if any of the chunks failed to load.
+     */
+    public static CompletableFuture<Void> forceChunks(ServerLevel level, String modId, BlockPos owner, LongCollection chunks, boolean add, boolean ticking)
+    {
+        return forceChunks(level, modId, owner, chunks, add, ticking, ticking ? BLOCK_TICKING : BLOCK, ForcedChunksSavedData::getBlockForcedChunks);
+    }
+
+    /**
+     * Forces a set of chunks to be loaded for the given mod with the "owner" of the tickets being the UUID of the given entity.
+     *
+     * @see #forceChunks(ServerLevel, String, UUID, LongCollection, boolean, boolean)
+     */
+    public static CompletableFuture<Void> forceChunks(ServerLevel level, String modId, Entity owner, LongCollection chunks, boolean add, boolean ticking)
+    {
+        return forceChunks(level, modId, owner.getUUID(), chunks, add, ticking);
+    }
+
+    /**
+     * Forces a set of chunks to be loaded for the given mod with the "owner" of the tickets being a given UUID.
+     * <p>
+     * Unlike {@link #forceChunk(ServerLevel, String, UUID, int, int, boolean, boolean)} this does not load the chunks on the calling thread,
+     * they are loaded by the chunk system in the background instead.
+     *
+     * @param chunks  The {@link ChunkPos#toLong() packed positions} of the chunks.
+     * @param add     {@code true} to force the chunks, {@code false} to unforce the chunks.
+     * @param ticking {@code true} to make the chunks receive full chunk ticks even if there is no player nearby.
+     * @return A future completed once every chunk that was newly forced has been loaded, or right away when unforcing.
+     *         It completes exceptionally if any of the chunks failed to load.
+     */
+    public static CompletableFuture<Void> forceChunks(ServerLevel level, String modId, UUID owner, LongCollection chunks, boolean add, boolean ticking)
+    {
+        return forceChunks(level, modId, owner, chunks, add, ticking, ticking ? ENTITY_TICKING : ENTITY, ForcedChunksSavedData::getEntityForcedChunks);
+    }
+
+    /**
+     * Forces the rectangle of chunks between the two corners, inclusive, to be loaded for the given mod with the "owner" of the tickets being a given
+     * block position.
+     *
+     * @throws IllegalArgumentException if the rectangle holds more than {@value #MAX_AREA} chunks
+     * @see #forceChunks(ServerLevel, String, BlockPos, LongCollection, boolean, boolean)
+     */
+    public static CompletableFuture<Void> forceChunks(ServerLevel level, String modId, BlockPos owner, ChunkPos from, ChunkPos to, boolean add, boolean ticking)
+    {
+        return forceChunks(level, modId, owner, chunksBetween(from, to), add, ticking);
+    }
+
+    /**
+     * Forces the rectangle of chunks between the two corners, inclusive, to be loaded for the given mod with the "owner" of the tickets being the UUID
+     * of the given entity.
+     *
+     * @throws IllegalArgumentException if the rectangle holds more than {@value #MAX_AREA} chunks
+     * @see #forceChunks(ServerLevel, String, UUID, LongCollection, boolean, boolean)
+     */
+    public static CompletableFuture<Void> forceChunks(ServerLevel level, String modId, Entity owner, ChunkPos from, ChunkPos to, boolean add, boolean ticking)
+    {
+        return forceChunks(level, modId, owner.getUUID(), chunksBetween(from, to), add, ticking);
+    }
+
+    /**
+     * Forces the rectangle of chunks between the two corners, inclusive, to be loaded for the given mod with the "owner" of the tickets being a given UUID.
+     *
+     * @throws IllegalArgumentException if the rectangle holds more than {@value #MAX_AREA} chunks
+     * @see #forceChunks(ServerLevel, String, UUID, LongCollection, boolean, boolean)
+     */
+    public static CompletableFuture<Void> forceChunks(ServerLevel level, String modId, UUID owner, ChunkPos from, ChunkPos to, boolean add, boolean ticking)
+    {
+        return forceChunks(level, modId, owner, chunksBetween(from, to), add, ticking);
+    }
+
+    private static LongList chunksBetween(ChunkPos from, ChunkPos to)
+    {
+        int minX = Math.min(from.x, to.x);
+        int maxX = Math.max(from.x, to.x);
+        int minZ = Math.min(from.z, to.z);
+        int maxZ = Math.max(from.z, to.z);
+        long area = ((long) maxX - minX + 1) * ((long) maxZ - minZ + 1);
+        if (area > MAX_AREA)
+            throw new IllegalArgumentException("Cannot force the " + area + " chunks between " + from + " and " + to + ", at most " + MAX_AREA + " chunks can be forced at once");
+        LongList chunks = new LongArrayList((int) area);
+        // Iterated as longs, so a corner at Integer.MAX_VALUE can not overflow the loops
+        for (long x = minX; x <= maxX; x++)
+        {
+            for (long z = minZ; z <= maxZ; z++)
+            {
+                chunks.add(ChunkPos.asLong((int) x, (int) z));
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Forces a set of chunks to be loaded for the given mod with the given "owner", marking the saved data dirty once for the whole set.
+     */
+    private static <T extends Comparable<? super T>> CompletableFuture<Void> forceChunks(ServerLevel level, String modId, T owner, LongCollection chunks, boolean add,
+          boolean ticking, TicketType<TicketOwner<T>> type, Function<ForcedChunksSavedData, TicketTracker<T>> ticketGetter)
+    {
+        if (!ModList.get().isLoaded(modId))
+        {
+            LOGGER.warn("A mod attempted to force chunks for an unloaded mod of id: {}", modId);
+            return CompletableFuture.completedFuture(null);
+        }
+        ForcedChunksSavedData saveData = level.getDataStorage().computeIfAbsent(ForcedChunksSavedData::load, ForcedChunksSavedData::new, "chunks");
+        TicketTracker<T> tickets = ticketGetter.apply(saveData);
+        TicketOwner<T> ticketOwner = new TicketOwner<>(modId, owner);
+        LongList changed = new LongArrayList();
+        for (LongIterator itr = chunks.iterator(); itr.hasNext(); )
+        {
+            long chunk = itr.nextLong();
+            if (add ? tickets.add(ticketOwner, chunk, ticking) : tickets.remove(ticketOwner, chunk, ticking))
+                changed.add(chunk);
+        }
+        if (changed.isEmpty())
+            return CompletableFuture.completedFuture(null);
+
+        saveData.setDirty(true);
+        forceChunks(level, type, ticketOwner, changed, add, ticking);
+        if (!add)
+            return CompletableFuture.completedFuture(null);
+
+        // The tickets keep the chunks loaded, the futures only report when they got there. They are requested off-thread as the chunk system
+        // then schedules them on the server thread instead of loading them right away.
+        ServerChunkCache chunkSource = level.getChunkSource();
+        return CompletableFuture.supplyAsync(() -> {
+            CompletableFuture<?>[] loads = new CompletableFuture<?>[changed.size()];
+            for (int i = 0; i < loads.length; i++)
+            {
+                long chunk = changed.getLong(i);
+                loads[i] = chunkSource.getChunkFuture(ChunkPos.getX(chunk), ChunkPos.getZ(chunk), ChunkStatus.FULL, true)
+                        .thenAccept(result -> result.ifRight(failure -> {
+                            throw new IllegalStateException("Failed to load forced chunk " + new ChunkPos(chunk) + ": " + failure);
+                        }));
+            }
+            return CompletableFuture.allOf(loads);
+        }, Util.backgroundExecutor()).thenCompose(Function.identity());
+    }
+
     /**
      * Forces a chunk to be loaded for the given mod with the given "owner".
      *
@@ -157,6 +317,18 @@ public class ForgeChunkManager
             level.getChunkSource().removeRegionTicket(type, pos, 2, owner, ticking);
     }
 
+    /**
+     * Adds/Removes the tickets of one owner for a set of chunks.
+     */
+    private static <T extends Comparable<? super T>> void forceChunks(ServerLevel level, TicketType<TicketOwner<T>> type, TicketOwner<T> owner, LongCollection chunks,
+          boolean add, boolean ticking)
+    {
+        for (LongIterator itr = chunks.iterator(); itr.hasNext(); )
+        {
+            forceChunk(level, new ChunkPos(itr.nextLong()), type, owner, add, ticking);
+        }
+    }
+
     /**
      * Reinstates forge's forced chunks when vanilla initially loads a level and reinstates their forced chunks. This method also will validate all of forge's forced
      * chunks using and registered {@link LoadingValidationCallback}.
@@ -224,10 +396,7 @@ public class ForgeChunkManager
     {
         for (Map.Entry<TicketOwner<T>, LongSet> entry : tickets.entrySet())
         {
-            for (long chunk : entry.getValue())
-            {
-                forceChunk(level, new ChunkPos(chunk), type, entry.getKey(), true, ticking);
-            }
+            forceChunks(level, type, entry.getKey(), entry.getValue(), true, ticking);
         }
     }
 
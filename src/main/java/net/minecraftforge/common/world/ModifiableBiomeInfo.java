@@ -7,7 +7,10 @@ package net.minecraftforge.common.world;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -78,17 +81,43 @@ public class ModifiableBiomeInfo
      */
     @ApiStatus.Internal
     public void applyBiomeModifiers(final Holder<Biome> biome, final List<BiomeModifier> biomeModifiers)
+    {
+        applyBiomeModifiers(biome, biomeModifiers, null);
+    }
+    
+    /**
+     * Internal forge method; the game will crash if mods invoke this.
+     * Creates and caches the modified biome info, skipping modifiers that do not {@link BiomeModifier#appliesTo apply} to the biome.
+     * @param biome named biome with original data.
+     * @param biomeModifiers biome modifiers to apply.
+     * @param timings if not null, the nanoseconds spent in each modifier are added to the element at the modifier's index.
+     * 
+     * @throws IllegalStateException if invoked more than once.
+     */
+    @ApiStatus.Internal
+    public void applyBiomeModifiers(final Holder<Biome> biome, final List<BiomeModifier> biomeModifiers, @Nullable final AtomicLongArray timings)
     {
         if (this.modifiedBiomeInfo != null)
             throw new IllegalStateException(String.format(Locale.ENGLISH, "Biome %s already modified", biome));
         
+        final IntList applicable = new IntArrayList(biomeModifiers.size());
+        for (int i = 0; i < biomeModifiers.size(); i++)
+        {
+            if (biomeModifiers.get(i).appliesTo(biome))
+                applicable.add(i);
+        }
+        
         BiomeInfo original = this.getOriginalBiomeInfo();
         final BiomeInfo.Builder builder = BiomeInfo.Builder.copyOf(original);
         for (BiomeModifier.Phase phase : BiomeModifier.Phase.values())
         {
-            for (BiomeModifier modifier : biomeModifiers)
+            for (int i = 0; i < applicable.size(); i++)
             {
-                modifier.modify(biome, phase, builder);
+                final int index = applicable.getInt(i);
+                final long start = timings == null ? 0 : System.nanoTime();
+                biomeModifiers.get(index).modify(biome, phase, builder);
+                if (timings != null)
+                    timings.addAndGet(index, System.nanoTime() - start);
             }
         }
         this.modifiedBiomeInfo = builder.build();
@@ -7,6 +7,9 @@ package net.minecraftforge.common.world;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import net.minecraft.core.Holder;
 import net.minecraft.world.level.levelgen.structure.Structure;
 import net.minecraft.world.level.levelgen.structure.Structure.StructureSettings;
@@ -73,17 +76,43 @@ public class ModifiableStructureInfo
      */
     @ApiStatus.Internal
     public void applyStructureModifiers(final Holder<Structure> structure, final List<StructureModifier> structureModifiers)
+    {
+        applyStructureModifiers(structure, structureModifiers, null);
+    }
+
+    /**
+     * Internal forge method; the game will crash if mods invoke this.
+     * Creates and caches the modified structure info, skipping modifiers that do not {@link StructureModifier#appliesTo apply} to the structure.
+     * @param structure named structure with original data.
+     * @param structureModifiers structure modifiers to apply.
+     * @param timings if not null, the nanoseconds spent in each modifier are added to the element at the modifier's index.
+     * 
+     * @throws IllegalStateException if invoked more than once.
+     */
+    @ApiStatus.Internal
+    public void applyStructureModifiers(final Holder<Structure> structure, final List<StructureModifier> structureModifiers, @Nullable final AtomicLongArray timings)
     {
         if (this.modifiedStructureInfo != null)
             throw new IllegalStateException(String.format(Locale.ENGLISH, "Structure %s already modified", structure));
 
+        final IntList applicable = new IntArrayList(structureModifiers.size());
+        for (int i = 0; i < structureModifiers.size(); i++)
+        {
+            if (structureModifiers.get(i).appliesTo(structure))
+                applicable.add(i);
+        }
+
         StructureInfo original = this.getOriginalStructureInfo();
         final StructureInfo.Builder builder = StructureInfo.Builder.copyOf(original);
         for (StructureModifier.Phase phase : StructureModifier.Phase.values())
         {
-            for (StructureModifier modifier : structureModifiers)
+            for (int i = 0; i < applicable.size(); i++)
             {
-                modifier.modify(structure, phase, builder);
+                final int index = applicable.getInt(i);
+                final long start = timings == null ? 0 : System.nanoTime();
+                structureModifiers.get(index).modify(structure, phase, builder);
+                if (timings != null)
+                    timings.addAndGet(index, System.nanoTime() - start);
             }
         }
         this.modifiedStructureInfo = builder.build();
@@ -21,6 +21,18 @@ public class NoneBiomeModifier implements BiomeModifier
         // NOOP - intended for datapack makers who want to disable a biome modifier
     }
 
+    @Override
+    public boolean appliesTo(Holder<Biome> biome)
+    {
+        return false;
+    }
+
+    @Override
+    public boolean isThreadSafe()
+    {
+        return true;
+    }
+
     @Override
     public Codec<? extends BiomeModifier> codec()
     {
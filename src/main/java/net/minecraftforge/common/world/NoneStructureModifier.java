@@ -21,6 +21,18 @@ public class NoneStructureModifier implements StructureModifier
         // NOOP - intended for datapack makers who want to disable a structure modifier
     }
 
+    @Override
+    public boolean appliesTo(Holder<Structure> structure)
+    {
+        return false;
+    }
+
+    @Override
+    public boolean isThreadSafe()
+    {
+        return true;
+    }
+
     @Override
     public Codec<? extends StructureModifier> codec()
     {
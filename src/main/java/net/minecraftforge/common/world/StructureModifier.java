@@ -63,6 +63,32 @@ public interface StructureModifier
      */
     void modify(Holder<Structure> structure, Phase phase, StructureInfo.Builder builder);
 
+    /**
+     * Structure modifiers are skipped entirely for structures this returns false for, before any phase runs.
+     * Modifiers that only affect some structures should override this to let Forge filter the structures up front.
+     * <p>
+     * Both this and {@link #modify} may be called concurrently for different structures if {@link #isThreadSafe()} is true.
+     *
+     * @param structure the named structure that is about to be modified.
+     * @return true if {@link #modify} should be called for the structure
+     */
+    default boolean appliesTo(Holder<Structure> structure)
+    {
+        return true;
+    }
+
+    /**
+     * Forge applies modifiers to the structures in parallel when every modifier is thread safe, and one structure at a time otherwise.
+     * Override this to return true only if {@link #appliesTo} and {@link #modify} just read shared state, and only write
+     * to the builder they were given.
+     *
+     * @return true if this modifier may be applied to different structures at the same time
+     */
+    default boolean isThreadSafe()
+    {
+        return false;
+    }
+
     /**
      * @return the codec which serializes and deserializes this structure modifier
      */
@@ -8,9 +8,12 @@ package net.minecraftforge.event;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.ICapabilityProvider;
 import net.minecraftforge.eventbus.api.GenericEvent;
 
@@ -26,6 +29,8 @@ public class AttachCapabilitiesEvent<T> extends GenericEvent<T>
     private final T obj;
     private final Map<ResourceLocation, ICapabilityProvider> caps = Maps.newLinkedHashMap();
     private final Map<ResourceLocation, ICapabilityProvider> view = Collections.unmodifiableMap(caps);
+    private final Map<ResourceLocation, Set<Capability<?>>> exposed = Maps.newHashMap();
+    private final Map<ResourceLocation, Set<Capability<?>>> exposedView = Collections.unmodifiableMap(exposed);
     private final List<Runnable> listeners = Lists.newArrayList();
     private final List<Runnable> listenersView = Collections.unmodifiableList(listeners);
 
@@ -58,6 +63,22 @@ public class AttachCapabilitiesEvent<T> extends GenericEvent<T>
         this.caps.put(key, cap);
     }
 
+    /**
+     * Adds a capability to be attached to this object, declaring every capability the provider can ever expose.
+     * The dispatcher will only query this provider for the declared capabilities, allowing lookups for
+     * anything else to skip it entirely. Providers that may expose different capabilities over their lifetime
+     * must use {@link #addCapability(ResourceLocation, ICapabilityProvider)} instead.
+     *
+     * @param key The name of owner of this capability provider.
+     * @param cap The capability provider
+     * @param exposed Every capability that the provider may return a present {@link net.minecraftforge.common.util.LazyOptional} for
+     */
+    public void addCapability(ResourceLocation key, ICapabilityProvider cap, Capability<?>... exposed)
+    {
+        addCapability(key, cap);
+        this.exposed.put(key, ImmutableSet.copyOf(exposed));
+    }
+
     /**
      * A unmodifiable view of the capabilities that will be attached to this object.
      */
@@ -66,6 +87,15 @@ public class AttachCapabilitiesEvent<T> extends GenericEvent<T>
         return view;
     }
 
+    /**
+     * A unmodifiable view of the capabilities declared as exposed by attached providers.
+     * Providers attached without a declaration are absent from this map.
+     */
+    public Map<ResourceLocation, Set<Capability<?>>> getExposedCapabilities()
+    {
+        return exposedView;
+    }
+
     /**
      * Adds a callback that is fired when the attached object is invalidated.
      * Such as a Entity/TileEntity being removed from world.
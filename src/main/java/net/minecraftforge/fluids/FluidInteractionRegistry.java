@@ -15,8 +15,11 @@ import net.minecraft.world.level.material.FluidState;
 import net.minecraftforge.common.ForgeMod;
 import net.minecraftforge.event.ForgeEventFactory;
 
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import org.jetbrains.annotations.Nullable;
+
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +38,8 @@ import java.util.function.Function;
 public final class FluidInteractionRegistry
 {
     private static final Map<FluidType, List<InteractionInformation>> INTERACTIONS = new HashMap<>();
+    // Immutable snapshot of INTERACTIONS compiled for lookup, replaced as a whole whenever an interaction is added
+    private static volatile Reference2ObjectMap<FluidType, CompiledInteraction[]> compiledInteractions = new Reference2ObjectOpenHashMap<>();
 
     /**
      * Adds an interaction between a source and its surroundings.
@@ -44,7 +49,12 @@ public final class FluidInteractionRegistry
      */
     public static synchronized void addInteraction(FluidType source, InteractionInformation interaction)
     {
-        INTERACTIONS.computeIfAbsent(source, s -> new ArrayList<>()).add(interaction);
+        List<InteractionInformation> interactions = INTERACTIONS.computeIfAbsent(source, s -> new ArrayList<>());
+        interactions.add(interaction);
+
+        Reference2ObjectMap<FluidType, CompiledInteraction[]> compiled = new Reference2ObjectOpenHashMap<>(compiledInteractions);
+        compiled.put(source, interactions.stream().map(CompiledInteraction::of).toArray(CompiledInteraction[]::new));
+        compiledInteractions = compiled;
     }
 
     /**
@@ -59,23 +69,59 @@ public final class FluidInteractionRegistry
     public static boolean canInteract(Level level, BlockPos pos)
     {
         FluidState state = level.getFluidState(pos);
+        CompiledInteraction[] interactions = compiledInteractions.get(state.getFluidType());
+        if (interactions == null)
+            return false;
+
         for (Direction direction : LiquidBlock.POSSIBLE_FLOW_DIRECTIONS)
         {
             BlockPos relativePos = pos.relative(direction.getOpposite());
-            List<InteractionInformation> interactions = INTERACTIONS.getOrDefault(state.getFluidType(), Collections.emptyList());
-            for (InteractionInformation interaction : interactions)
+            FluidType relativeType = null; // Read once per neighbour, and only if an interaction needs it
+            for (CompiledInteraction compiled : interactions)
             {
-                if (interaction.predicate().test(level, pos, relativePos, state))
+                if (compiled.relativeType() != null)
+                {
+                    if (relativeType == null)
+                        relativeType = level.getFluidState(relativePos).getFluidType();
+                    if (relativeType != compiled.relativeType())
+                        continue;
+                }
+                else if (!compiled.interaction().predicate().test(level, pos, relativePos, state))
                 {
-                    interaction.interaction().interact(level, pos, relativePos, state);
-                    return true;
+                    continue;
                 }
+                compiled.interaction().interaction().interact(level, pos, relativePos, state);
+                return true;
             }
         }
 
         return false;
     }
 
+    /**
+     * An interaction prepared for {@link #canInteract}. Interactions that only test the type of the surrounding fluid
+     * are checked against the type read once per neighbour instead of calling their predicate.
+     */
+    private record CompiledInteraction(@Nullable FluidType relativeType, InteractionInformation interaction)
+    {
+        private static CompiledInteraction of(InteractionInformation interaction)
+        {
+            return new CompiledInteraction(interaction.predicate() instanceof RelativeFluidTypeTest test ? test.type() : null, interaction);
+        }
+    }
+
+    /**
+     * The predicate of interactions that only require a surrounding fluid of a specific type.
+     */
+    private record RelativeFluidTypeTest(FluidType type) implements HasFluidInteraction
+    {
+        @Override
+        public boolean test(Level level, BlockPos currentPos, BlockPos relativePos, FluidState currentState)
+        {
+            return level.getFluidState(relativePos).getFluidType() == type;
+        }
+    }
+
     static
     {
         // Lava + Water = Obsidian (Source Lava) / Cobblestone (Flowing Lava)
@@ -132,7 +178,7 @@ public final class FluidInteractionRegistry
          */
         public InteractionInformation(FluidType type, Function<FluidState, BlockState> getState)
         {
-            this((level, currentPos, relativePos, currentState) -> level.getFluidState(relativePos).getFluidType() == type, getState);
+            this(new RelativeFluidTypeTest(type), getState);
         }
 
         /**
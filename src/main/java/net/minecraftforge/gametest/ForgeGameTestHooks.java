@@ -12,7 +12,6 @@ import net.minecraftforge.event.RegisterGameTestsEvent;
 import net.minecraftforge.fml.ModList;
 import net.minecraftforge.fml.ModLoader;
 import net.minecraftforge.fml.loading.FMLLoader;
-import net.minecraftforge.forgespi.language.ModFileScanData;
 import net.minecraftforge.forgespi.language.ModFileScanData.AnnotationData;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -20,7 +19,6 @@ import org.objectweb.asm.Type;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -54,10 +52,7 @@ public class ForgeGameTestHooks
 
             ModLoader.get().postEvent(event);
 
-            ModList.get().getAllScanData().stream()
-                    .map(ModFileScanData::getAnnotations)
-                    .flatMap(Collection::stream)
-                    .filter(a -> GAME_TEST_HOLDER.equals(a.annotationType()))
+            ModList.get().getAllAnnotations(GAME_TEST_HOLDER)
                     .forEach(a -> addGameTestMethods(a, gameTestMethods));
 
             for (Method gameTestMethod : gameTestMethods)
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.items;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.common.capabilities.ForgeCapabilities;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.common.util.NonNullConsumer;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Caches the {@link IItemHandler} exposed by a neighbouring block entity, so a hopper does not have to look its
+ * target up again on every transfer.
+ * The cached handler is dropped once the capability is invalidated (which also happens when the target block
+ * entity is removed or unloaded), or when the side it is accessed from changes.
+ * Missing targets are never cached.
+ */
+public final class ItemHandlerTargetCache
+{
+    private final NonNullConsumer<LazyOptional<IItemHandler>> invalidationListener = this::onInvalidated;
+    @Nullable
+    private BlockEntity target;
+    @Nullable
+    private IItemHandler handler;
+    @Nullable
+    private LazyOptional<IItemHandler> capability;
+    @Nullable
+    private Direction direction;
+
+    /**
+     * @param level The level the target is in
+     * @param origin The position of the block accessing the target
+     * @param direction The direction from the origin to the target
+     * @return The item handler exposed by the target on the side facing the origin, or null if there is none
+     */
+    @Nullable
+    public IItemHandler get(Level level, BlockPos origin, Direction direction)
+    {
+        if (this.handler != null && this.direction == direction && !this.target.isRemoved() && this.target.getLevel() == level)
+            return this.handler;
+
+        invalidate();
+        BlockPos pos = origin.relative(direction);
+        BlockState state = level.getBlockState(pos);
+        if (!state.hasBlockEntity())
+            return null;
+        BlockEntity blockEntity = level.getBlockEntity(pos);
+        if (blockEntity == null)
+            return null;
+
+        LazyOptional<IItemHandler> cap = blockEntity.getCapability(ForgeCapabilities.ITEM_HANDLER, direction.getOpposite());
+        IItemHandler resolved = cap.orElse(null);
+        if (resolved == null)
+            return null;
+
+        this.target = blockEntity;
+        this.handler = resolved;
+        this.direction = direction;
+        if (this.capability != cap)
+        {
+            this.capability = cap;
+            cap.addListener(this.invalidationListener);
+        }
+        return resolved;
+    }
+
+    /**
+     * @return The block entity that exposed the handler last returned by {@link #get(Level, BlockPos, Direction)}
+     */
+    @Nullable
+    public BlockEntity getTarget()
+    {
+        return this.target;
+    }
+
+    /**
+     * Forgets the cached handler, forcing the next lookup to resolve the target again.
+     */
+    public void invalidate()
+    {
+        this.target = null;
+        this.handler = null;
+        this.direction = null;
+    }
+
+    private void onInvalidated(LazyOptional<IItemHandler> invalidated)
+    {
+        if (invalidated == this.capability)
+        {
+            this.capability = null;
+            invalidate();
+        }
+    }
+}
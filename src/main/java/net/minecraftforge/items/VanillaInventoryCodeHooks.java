@@ -5,6 +5,7 @@
 
 package net.minecraftforge.items;
 
+import net.minecraft.world.Container;
 import net.minecraft.world.level.block.DropperBlock;
 import net.minecraft.world.level.block.HopperBlock;
 import net.minecraft.world.item.ItemStack;
@@ -34,38 +35,48 @@ public class VanillaInventoryCodeHooks
     @Nullable
     public static Boolean extractHook(Level level, Hopper dest)
     {
-        return getItemHandler(level, dest, Direction.UP)
-                .map(itemHandlerResult -> {
-                    IItemHandler handler = itemHandlerResult.getKey();
+        IItemHandler handler;
+        if (dest instanceof HopperBlockEntity hopper)
+        {
+            handler = hopper.getExtractTargetCache().get(level, hopper.getBlockPos(), Direction.UP);
+        }
+        else
+        {
+            handler = getItemHandler(level, dest, Direction.UP).map(Pair::getKey).orElse(null);
+        }
+
+        if (handler == null)
+            return null; // TODO bad null
+
+        if (isFull(dest))
+            return false;
 
-                    for (int i = 0; i < handler.getSlots(); i++)
+        for (int i = 0; i < handler.getSlots(); i++)
+        {
+            ItemStack extractItem = handler.extractItem(i, 1, true);
+            if (!extractItem.isEmpty())
+            {
+                for (int j = 0; j < dest.getContainerSize(); j++)
+                {
+                    ItemStack destStack = dest.getItem(j);
+                    if (dest.canPlaceItem(j, extractItem) && (destStack.isEmpty() || destStack.getCount() < destStack.getMaxStackSize() && destStack.getCount() < dest.getMaxStackSize() && ItemHandlerHelper.canItemStacksStack(extractItem, destStack)))
                     {
-                        ItemStack extractItem = handler.extractItem(i, 1, true);
-                        if (!extractItem.isEmpty())
+                        extractItem = handler.extractItem(i, 1, false);
+                        if (destStack.isEmpty())
+                            dest.setItem(j, extractItem);
+                        else
                         {
-                            for (int j = 0; j < dest.getContainerSize(); j++)
-                            {
-                                ItemStack destStack = dest.getItem(j);
-                                if (dest.canPlaceItem(j, extractItem) && (destStack.isEmpty() || destStack.getCount() < destStack.getMaxStackSize() && destStack.getCount() < dest.getMaxStackSize() && ItemHandlerHelper.canItemStacksStack(extractItem, destStack)))
-                                {
-                                    extractItem = handler.extractItem(i, 1, false);
-                                    if (destStack.isEmpty())
-                                        dest.setItem(j, extractItem);
-                                    else
-                                    {
-                                        destStack.grow(1);
-                                        dest.setItem(j, destStack);
-                                    }
-                                    dest.setChanged();
-                                    return true;
-                                }
-                            }
+                            destStack.grow(1);
+                            dest.setItem(j, destStack);
                         }
+                        dest.setChanged();
+                        return true;
                     }
+                }
+            }
+        }
 
-                    return false;
-                })
-                .orElse(null); // TODO bad null
+        return false;
     }
 
     /**
@@ -104,37 +115,34 @@ public class VanillaInventoryCodeHooks
     public static boolean insertHook(HopperBlockEntity hopper)
     {
         Direction hopperFacing = hopper.getBlockState().getValue(HopperBlock.FACING);
-        return getItemHandler(hopper.getLevel(), hopper, hopperFacing)
-                .map(destinationResult -> {
-                    IItemHandler itemHandler = destinationResult.getKey();
-                    Object destination = destinationResult.getValue();
-                    if (isFull(itemHandler))
-                    {
-                        return false;
-                    }
-                    else
-                    {
-                        for (int i = 0; i < hopper.getContainerSize(); ++i)
-                        {
-                            if (!hopper.getItem(i).isEmpty())
-                            {
-                                ItemStack originalSlotContents = hopper.getItem(i).copy();
-                                ItemStack insertStack = hopper.removeItem(i, 1);
-                                ItemStack remainder = putStackInInventoryAllSlots(hopper, destination, itemHandler, insertStack);
+        ItemHandlerTargetCache targetCache = hopper.getInsertTargetCache();
+        IItemHandler itemHandler = targetCache.get(hopper.getLevel(), hopper.getBlockPos(), hopperFacing);
+        if (itemHandler == null || isFull(itemHandler))
+            return false;
 
-                                if (remainder.isEmpty())
-                                {
-                                    return true;
-                                }
+        Object destination = targetCache.getTarget();
+        for (int i = 0; i < hopper.getContainerSize(); ++i)
+        {
+            ItemStack slotContents = hopper.getItem(i);
+            if (slotContents.isEmpty())
+                continue;
 
-                                hopper.setItem(i, originalSlotContents);
-                            }
-                        }
+            for (int slot = 0; slot < itemHandler.getSlots(); slot++)
+            {
+                // Simulate with the hopper's own stack, and only copy the item once a slot takes part of it
+                if (itemHandler.insertItem(slot, slotContents, true).getCount() >= slotContents.getCount())
+                    continue;
 
-                        return false;
-                    }
-                })
-                .orElse(false);
+                ItemStack remainder = insertStack(hopper, destination, itemHandler, ItemHandlerHelper.copyStackWithSize(slotContents, 1), slot);
+                if (remainder.isEmpty())
+                {
+                    hopper.removeItem(i, 1);
+                    return true;
+                }
+            }
+        }
+
+        return false;
     }
 
     private static ItemStack putStackInInventoryAllSlots(BlockEntity source, Object destination, IItemHandler destInventory, ItemStack stack)
@@ -217,6 +225,19 @@ public class VanillaInventoryCodeHooks
         return true;
     }
 
+    private static boolean isFull(Container container)
+    {
+        for (int slot = 0; slot < container.getContainerSize(); slot++)
+        {
+            ItemStack stackInSlot = container.getItem(slot);
+            if (stackInSlot.isEmpty() || stackInSlot.getCount() < Math.min(stackInSlot.getMaxStackSize(), container.getMaxStackSize()))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static boolean isEmpty(IItemHandler itemHandler)
     {
         for (int slot = 0; slot < itemHandler.getSlots(); slot++)
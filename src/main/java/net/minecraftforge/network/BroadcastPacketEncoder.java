@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.network;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import net.minecraft.network.CompressionEncoder;
+import net.minecraft.network.Connection;
+import net.minecraft.network.ConnectionProtocol;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.PacketFlow;
+
+/**
+ * Sends the same packet to many connections while encoding it only once.
+ * <p>
+ * The packet is serialized once, and compressed once for every distinct compression threshold of the target connections.
+ * A duplicate of the resulting frame is then written to each connection right behind its encoder, so the per connection
+ * pipeline only adds the length prefix and encryption. Connections that do not encode packets, such as local connections,
+ * or that are not in the play state get the packet object as usual.
+ * <p>
+ * Packets bypass the packet level filters of the pipeline this way, so this must only be used for packets no filter
+ * cares about, such as custom payloads.
+ */
+final class BroadcastPacketEncoder
+{
+    /** Below this many connections there is nothing to share, so the packet is sent the normal way. */
+    private static final int MIN_CONNECTIONS = 2;
+    private static final int UNCOMPRESSED = -1;
+
+    private BroadcastPacketEncoder() {}
+
+    static void send(Packet<?> packet, Consumer<Consumer<Connection>> connections)
+    {
+        List<Connection> targets = new ArrayList<>();
+        connections.accept(targets::add);
+        if (targets.size() < MIN_CONNECTIONS)
+        {
+            targets.forEach(connection -> connection.send(packet));
+            return;
+        }
+
+        ByteBuf encoded = null;
+        Int2ObjectMap<ByteBuf> frames = new Int2ObjectArrayMap<>(1);
+        try
+        {
+            for (Connection connection : targets)
+            {
+                Channel channel = connection.channel();
+                if (channel == null || !connection.isConnected() || connection.isMemoryConnection() || channel.attr(Connection.ATTRIBUTE_PROTOCOL).get() != ConnectionProtocol.PLAY)
+                {
+                    connection.send(packet);
+                    continue;
+                }
+
+                // The frame is written to the context of the last handler that produces it, the next handlers prefix and encrypt it
+                ChannelHandler compressor = channel.pipeline().get("compress");
+                ChannelHandlerContext ctx = channel.pipeline().context(compressor instanceof CompressionEncoder ? "compress" : "encoder");
+                if (ctx == null)
+                {
+                    connection.send(packet);
+                    continue;
+                }
+
+                int threshold = compressor instanceof CompressionEncoder encoder ? encoder.getThreshold() : UNCOMPRESSED;
+                ByteBuf frame = frames.get(threshold);
+                if (frame == null)
+                {
+                    if (encoded == null)
+                        encoded = encode(packet);
+                    frame = threshold == UNCOMPRESSED ? encoded.retain() : compress(encoded, threshold);
+                    frames.put(threshold, frame);
+                }
+                ctx.writeAndFlush(frame.retainedDuplicate()).addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+            }
+        }
+        finally
+        {
+            frames.values().forEach(ByteBuf::release);
+            if (encoded != null)
+                encoded.release();
+        }
+    }
+
+    /**
+     * Same output as {@link net.minecraft.network.PacketEncoder}.
+     */
+    private static ByteBuf encode(Packet<?> packet)
+    {
+        ByteBuf buf = ByteBufAllocator.DEFAULT.ioBuffer();
+        try
+        {
+            FriendlyByteBuf out = new FriendlyByteBuf(buf);
+            out.writeVarInt(ConnectionProtocol.PLAY.getPacketId(PacketFlow.CLIENTBOUND, packet));
+            packet.write(out);
+            return buf;
+        }
+        catch (RuntimeException e)
+        {
+            buf.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Same output as {@link CompressionEncoder}, packets smaller than the threshold are only prefixed with a 0.
+     */
+    private static ByteBuf compress(ByteBuf encoded, int threshold)
+    {
+        int size = encoded.readableBytes();
+        ByteBuf buf = ByteBufAllocator.DEFAULT.ioBuffer(size + 5);
+        FriendlyByteBuf out = new FriendlyByteBuf(buf);
+        if (size < threshold)
+        {
+            out.writeVarInt(0);
+            out.writeBytes(encoded, encoded.readerIndex(), size);
+            return buf;
+        }
+
+        byte[] input = new byte[size];
+        encoded.getBytes(encoded.readerIndex(), input);
+        out.writeVarInt(size);
+        Deflater deflater = new Deflater();
+        try
+        {
+            deflater.setInput(input);
+            deflater.finish();
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished())
+            {
+                int length = deflater.deflate(chunk);
+                out.writeBytes(chunk, 0, length);
+            }
+        }
+        finally
+        {
+            deflater.end();
+        }
+        return buf;
+    }
+}
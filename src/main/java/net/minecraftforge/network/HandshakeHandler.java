@@ -9,7 +9,9 @@ import com.google.common.collect.Multimap;
 import com.mojang.authlib.GameProfile;
 
 import net.minecraft.core.Registry;
+import io.netty.buffer.Unpooled;
 import net.minecraft.network.Connection;
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.protocol.handshake.ClientIntentionPacket;
 import net.minecraft.network.protocol.login.ClientboundCustomQueryPacket;
@@ -25,16 +27,19 @@ import net.minecraftforge.network.simple.SimpleChannel;
 import net.minecraftforge.registries.DataPackRegistriesHooks;
 import net.minecraftforge.registries.ForgeRegistry;
 import net.minecraftforge.registries.GameData;
+import net.minecraftforge.registries.RegistryManager;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
+import org.jetbrains.annotations.Nullable;
 
 import com.google.common.collect.Maps;
 
 import java.util.*;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -66,7 +71,7 @@ import static net.minecraftforge.registries.ForgeRegistry.REGISTRIES;
  * which solicits all registered channels at the {@link NetworkRegistry} for any
  * {@link NetworkRegistry.LoginPayload} they wish to supply.
  *
- * <p>The collected {@link NetworkRegistry.LoginPayload} are sent, one per tick, via
+ * <p>The collected {@link NetworkRegistry.LoginPayload} are sent, several per tick up to a byte budget, via
  * the {@code FMLLoginWrapper#wrapPacket(ResourceLocation, net.minecraft.impl.FriendlyByteBuf)} mechanism to the incoming client connection. Each
  * packet is indexed via {@link ServerboundCustomQueryPacket#getTransactionId()}, which is
  * the only mechanism available for tracking request/response pairs.
@@ -84,6 +89,15 @@ public class HandshakeHandler
     private static final Logger LOGGER = LogManager.getLogger();
 
     private static final LoginWrapper loginWrapper = new LoginWrapper();
+    /**
+     * Login payloads are sent until this many bytes went out in a tick, at least one payload is sent every tick.
+     */
+    private static final int MAX_LOGIN_BYTES_PER_TICK = 512 * 1024;
+    /**
+     * Client side: the last snapshot received for each registry, advertised to the server on the next login so it
+     * does not need to be sent again if unchanged.
+     */
+    private static final Map<ResourceLocation, ForgeRegistry.Snapshot> knownSnapshots = new ConcurrentHashMap<>();
 
     static {
     }
@@ -113,7 +127,9 @@ public class HandshakeHandler
     private int packetPosition;
     private Map<ResourceLocation, ForgeRegistry.Snapshot> registrySnapshots;
     private Set<ResourceLocation> registriesToReceive;
-    private Map<ResourceLocation, String> registryHashes;
+    private volatile Map<ResourceLocation, String> registryHashes;
+    // The registry payloads are inserted at this position once the client told us which snapshots it knows, or -1 if there are none to send
+    private int registryPosition = -1;
     private boolean negotiationStarted = false;
     private final List<Future<Void>> pendingFutures = new ArrayList<>();
 
@@ -128,7 +144,11 @@ public class HandshakeHandler
             this.messageList = Collections.emptyList();
             LOGGER.debug(FMLHSMARKER, "Starting new vanilla impl connection.");
         } else {
-            this.messageList = NetworkRegistry.gatherLoginPayloads(this.direction, false);
+            this.messageList = new ArrayList<>(NetworkRegistry.gatherLoginPayloads(this.direction, false));
+            for (int x = 0; x < this.messageList.size() && this.registryPosition == -1; x++) {
+                if (HandshakeMessages.S2CModList.class.getName().equals(this.messageList.get(x).getMessageContext()))
+                    this.registryPosition = x + 1;
+            }
             LOGGER.debug(FMLHSMARKER, "Starting new modded impl connection. Found {} messages to dispatch.", this.messageList.size());
         }
     }
@@ -250,6 +270,7 @@ public class HandshakeHandler
             return;
         }
         LOGGER.debug(FMLHSMARKER, "Accepted client connection mod list");
+        this.registryHashes = clientModList.getRegistries();
     }
 
     void handleModMismatchData(HandshakeMessages.S2CChannelMismatchData modMismatchData, Supplier<NetworkEvent.Context> c)
@@ -270,6 +291,8 @@ public class HandshakeHandler
         LOGGER.debug(FMLHSMARKER,"Received registry packet for {}", registryPacket.getRegistryName());
         this.registriesToReceive.remove(registryPacket.getRegistryName());
         this.registrySnapshots.put(registryPacket.getRegistryName(), registryPacket.getSnapshot());
+        if (registryPacket.hasSnapshot())
+            knownSnapshots.put(registryPacket.getRegistryName(), registryPacket.getSnapshot());
 
         boolean continueHandshake = true;
         if (this.registriesToReceive.isEmpty()) {
@@ -329,6 +352,23 @@ public class HandshakeHandler
         contextSupplier.get().setPacketHandled(true);
         NetworkConstants.handshakeChannel.reply(new HandshakeMessages.C2SAcknowledge(), contextSupplier.get());
     }
+    /**
+     * @return The hashes of the registry snapshots this client received before, by registry name
+     */
+    static Map<ResourceLocation, String> getKnownRegistryHashes()
+    {
+        Map<ResourceLocation, String> ret = new HashMap<>();
+        knownSnapshots.forEach((name, snapshot) -> ret.put(name, snapshot.getHash()));
+        return ret;
+    }
+
+    @Nullable
+    static ForgeRegistry.Snapshot getKnownSnapshot(ResourceLocation name, String hash)
+    {
+        ForgeRegistry.Snapshot snapshot = knownSnapshots.get(name);
+        return snapshot != null && snapshot.getHash().equals(hash) ? snapshot : null;
+    }
+
     /**
      * FML will send packets, from Server to Client, from the messages queue until the queue is drained. Each message
      * will be indexed, and placed into the "pending acknowledgement" queue.
@@ -349,12 +389,31 @@ public class HandshakeHandler
             negotiationStarted = true;
         }
 
-        if (packetPosition < messageList.size()) {
+        if (registryPosition != -1 && registryHashes != null) {
+            List<NetworkRegistry.LoginPayload> registries = new ArrayList<>();
+            int unchanged = 0;
+            for (Pair<String, HandshakeMessages.S2CRegistry> packet : RegistryManager.generateRegistryPackets(registryHashes)) {
+                FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+                NetworkConstants.handshakeChannel.encodeMessage(packet.getRight(), buf);
+                registries.add(new NetworkRegistry.LoginPayload(buf, NetworkConstants.FML_HANDSHAKE_RESOURCE, packet.getLeft()));
+                if (packet.getRight().isUnchanged())
+                    unchanged++;
+            }
+            LOGGER.debug(FMLHSMARKER, "Sending {} registries, {} of them already known to the client", registries.size(), unchanged);
+            messageList.addAll(registryPosition, registries);
+            registryPosition = -1;
+        }
+
+        // Until the client told us which registry snapshots it has, nothing past the point where the registries go is sent
+        int sendLimit = registryPosition == -1 ? messageList.size() : Math.min(registryPosition, messageList.size());
+        int sentBytes = 0;
+        while (packetPosition < sendLimit && (sentBytes == 0 || sentBytes + messageList.get(packetPosition).getData().readableBytes() <= MAX_LOGIN_BYTES_PER_TICK)) {
             NetworkRegistry.LoginPayload message = messageList.get(packetPosition);
 
             LOGGER.debug(FMLHSMARKER, "Sending ticking packet info '{}' to '{}' sequence {}", message.getMessageContext(), message.getChannelName(), packetPosition);
             if (message.needsResponse())
                 sentMessages.add(packetPosition);
+            sentBytes += Math.max(1, message.getData().readableBytes());
             loginWrapper.sendServerToClientLoginPacket(message.getChannelName(), message.getData(), packetPosition, this.manager);
             packetPosition++;
         }
@@ -376,7 +435,7 @@ public class HandshakeHandler
         });
 
         // we're done when sentMessages is empty
-        if (sentMessages.isEmpty() && packetPosition >= messageList.size()-1 && pendingFutures.isEmpty()) {
+        if (sentMessages.isEmpty() && registryPosition == -1 && packetPosition >= messageList.size()-1 && pendingFutures.isEmpty()) {
             // clear ourselves - we're done!
             this.manager.channel().attr(NetworkConstants.FML_HANDSHAKE_HANDLER).set(null);
             LOGGER.debug(FMLHSMARKER, "Handshake complete!");
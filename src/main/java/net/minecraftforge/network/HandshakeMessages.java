@@ -25,7 +25,6 @@ import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.tuple.Pair;
 
-import com.google.common.collect.Maps;
 import org.jetbrains.annotations.Nullable;
 
 public class HandshakeMessages
@@ -180,7 +179,7 @@ public class HandshakeMessages
         {
             this.mods = ModList.get().getMods().stream().map(IModInfo::getModId).collect(Collectors.toList());
             this.channels = NetworkRegistry.buildChannelVersions();
-            this.registries = Maps.newHashMap(); //TODO: Fill with known hashes, which requires keeping a file cache
+            this.registries = HandshakeHandler.getKnownRegistryHashes();
         }
 
         private C2SModListReply(List<String> mods, Map<ResourceLocation, String> channels, Map<ResourceLocation, String> registries)
@@ -251,29 +250,65 @@ public class HandshakeMessages
         }
     }
 
+    /**
+     * Server to client registry snapshot. The snapshot is sent compressed, or only as a hash if the client advertised
+     * the same snapshot in its {@link C2SModListReply}.
+     */
     public static class S2CRegistry extends LoginIndexedMessage {
+        private static final byte NO_SNAPSHOT = 0;
+        private static final byte SNAPSHOT = 1;
+        private static final byte KNOWN_SNAPSHOT = 2;
+
         private ResourceLocation registryName;
         @Nullable
         private ForgeRegistry.Snapshot snapshot;
+        private final boolean unchanged;
 
         public S2CRegistry(final ResourceLocation name, @Nullable ForgeRegistry.Snapshot snapshot) {
+            this(name, snapshot, false);
+        }
+
+        private S2CRegistry(final ResourceLocation name, @Nullable ForgeRegistry.Snapshot snapshot, boolean unchanged) {
             this.registryName = name;
             this.snapshot = snapshot;
+            this.unchanged = unchanged;
+        }
+
+        /**
+         * Creates a packet that only refers to the snapshot by its hash, for clients that already know it.
+         */
+        public static S2CRegistry unchanged(final ResourceLocation name, ForgeRegistry.Snapshot snapshot) {
+            return new S2CRegistry(name, snapshot, true);
         }
 
         void encode(final FriendlyByteBuf buffer) {
             buffer.writeResourceLocation(registryName);
-            buffer.writeBoolean(hasSnapshot());
-            if (hasSnapshot())
-                buffer.writeBytes(snapshot.getPacketData());
+            if (!hasSnapshot()) {
+                buffer.writeByte(NO_SNAPSHOT);
+            } else if (unchanged) {
+                buffer.writeByte(KNOWN_SNAPSHOT);
+                buffer.writeUtf(snapshot.getHash());
+            } else {
+                buffer.writeByte(SNAPSHOT);
+                buffer.writeByteArray(snapshot.getCompressedPacketData());
+            }
         }
 
         public static S2CRegistry decode(final FriendlyByteBuf buffer) {
             ResourceLocation name = buffer.readResourceLocation();
-            ForgeRegistry.Snapshot snapshot = null;
-            if (buffer.readBoolean())
-                snapshot = ForgeRegistry.Snapshot.read(buffer);
-            return new S2CRegistry(name, snapshot);
+            byte type = buffer.readByte();
+            return switch (type) {
+                case NO_SNAPSHOT -> new S2CRegistry(name, null);
+                case SNAPSHOT -> new S2CRegistry(name, ForgeRegistry.Snapshot.readCompressed(buffer.readByteArray()));
+                case KNOWN_SNAPSHOT -> {
+                    String hash = buffer.readUtf();
+                    ForgeRegistry.Snapshot snapshot = HandshakeHandler.getKnownSnapshot(name, hash);
+                    if (snapshot == null)
+                        throw new IllegalStateException("Server referred to unknown snapshot " + hash + " of registry " + name);
+                    yield new S2CRegistry(name, snapshot, true);
+                }
+                default -> throw new IllegalStateException("Unknown registry snapshot type " + type + " for registry " + name);
+            };
         }
 
         public ResourceLocation getRegistryName() {
@@ -284,6 +319,13 @@ public class HandshakeMessages
             return snapshot != null;
         }
 
+        /**
+         * @return true if the snapshot was not sent, because the client already knew it
+         */
+        public boolean isUnchanged() {
+            return unchanged;
+        }
+
         @Nullable
         public ForgeRegistry.Snapshot getSnapshot() {
             return snapshot;
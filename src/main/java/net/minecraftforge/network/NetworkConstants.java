@@ -10,7 +10,9 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.fml.IExtensionPoint;
 import net.minecraftforge.fml.IExtensionPoint.DisplayTest;
 import net.minecraftforge.network.ConnectionData.ModMismatchData;
+import net.minecraftforge.network.HandshakeMessages.C2SModListReply;
 import net.minecraftforge.network.HandshakeMessages.S2CModList;
+import net.minecraftforge.network.HandshakeMessages.S2CRegistry;
 import net.minecraftforge.network.event.EventNetworkChannel;
 import net.minecraftforge.network.simple.SimpleChannel;
 import org.apache.logging.log4j.Marker;
@@ -25,8 +27,9 @@ public class NetworkConstants
     public static final String FMLNETMARKER = "FML";
     /**
      * Netversion 3: {@link S2CModList} packet may include a list of non-vanilla synced datapack registry ids.
+     * Netversion 4: {@link S2CRegistry} snapshots are compressed, and may only refer to a snapshot the client advertised in {@link C2SModListReply}.
      */
-    public static final int FMLNETVERSION = 3;
+    public static final int FMLNETVERSION = 4;
     public static final String NETVERSION = FMLNETMARKER + FMLNETVERSION;
     public static final String NOVERSION = "NONE";
 
@@ -142,6 +142,7 @@ public class NetworkRegistry
         }
         final NetworkInstance networkInstance = new NetworkInstance(name, networkProtocolVersion, clientAcceptedVersions, serverAcceptedVersions);
         instances.put(name, networkInstance);
+        ServerStatusPing.invalidateCurrent();
         return networkInstance;
     }
 
@@ -361,6 +362,7 @@ public class NetworkRegistry
         private Supplier<String> networkProtocolVersion;
         private Predicate<String> clientAcceptedVersions;
         private Predicate<String> serverAcceptedVersions;
+        private boolean batchMessages;
 
         /**
          * The name of the channel. Must be unique.
@@ -415,6 +417,19 @@ public class NetworkRegistry
             return this;
         }
 
+        /**
+         * Combine the play messages a {@link SimpleChannel} sends to the same connection during a tick into a single
+         * payload, sent at the end of the tick. Reduces the packet count for channels sending many small messages, at the
+         * cost of delaying them until the end of the tick. The channel has to be batched on both sides, and the
+         * discriminator {@code 255} can not be used for messages.
+         * @return the channel builder
+         */
+        public ChannelBuilder batchMessages()
+        {
+            this.batchMessages = true;
+            return this;
+        }
+
         /**
          * Create the impl instance
          * @return the {@link NetworkInstance}
@@ -429,7 +444,7 @@ public class NetworkRegistry
          * @return A new {@link SimpleChannel}
          */
         public SimpleChannel simpleChannel() {
-            return new SimpleChannel(createNetworkInstance());
+            return new SimpleChannel(createNetworkInstance(), batchMessages);
         }
 
         /**
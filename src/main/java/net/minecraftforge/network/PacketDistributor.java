@@ -10,6 +10,7 @@ import net.minecraft.world.entity.Entity;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.network.Connection;
 import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientboundCustomPayloadPacket;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.world.level.Level;
@@ -18,6 +19,8 @@ import net.minecraft.server.level.ServerChunkCache;
 import net.minecraftforge.network.simple.SimpleChannel;
 import net.minecraftforge.server.ServerLifecycleHooks;
 
+import org.jetbrains.annotations.Nullable;
+
 import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -36,31 +39,31 @@ public class PacketDistributor<T> {
      * <br/>
      * {@link #with(Supplier)} Player
      */
-    public static final PacketDistributor<ServerPlayer> PLAYER = new PacketDistributor<>(PacketDistributor::playerConsumer, NetworkDirection.PLAY_TO_CLIENT);
+    public static final PacketDistributor<ServerPlayer> PLAYER = new PacketDistributor<>(PacketDistributor::playerConsumer, PacketDistributor::playerConnection, NetworkDirection.PLAY_TO_CLIENT);
     /**
      * Send to everyone in the dimension specified in the Supplier
      * <br/>
      * {@link #with(Supplier)} DimensionType
      */
-    public static final PacketDistributor<ResourceKey<Level>> DIMENSION = new PacketDistributor<>(PacketDistributor::playerListDimConsumer, NetworkDirection.PLAY_TO_CLIENT);
+    public static final PacketDistributor<ResourceKey<Level>> DIMENSION = new PacketDistributor<>(PacketDistributor::playerListDimConsumer, PacketDistributor::playerListDimConnections, NetworkDirection.PLAY_TO_CLIENT);
     /**
      * Send to everyone near the {@link TargetPoint} specified in the Supplier
      * <br/>
      * {@link #with(Supplier)} TargetPoint
      */
-    public static final PacketDistributor<TargetPoint> NEAR = new PacketDistributor<>(PacketDistributor::playerListPointConsumer, NetworkDirection.PLAY_TO_CLIENT);
+    public static final PacketDistributor<TargetPoint> NEAR = new PacketDistributor<>(PacketDistributor::playerListPointConsumer, PacketDistributor::playerListPointConnections, NetworkDirection.PLAY_TO_CLIENT);
     /**
      * Send to everyone
      * <br/>
      * {@link #noArg()}
      */
-    public static final PacketDistributor<Void> ALL = new PacketDistributor<>(PacketDistributor::playerListAll, NetworkDirection.PLAY_TO_CLIENT);
+    public static final PacketDistributor<Void> ALL = new PacketDistributor<>(PacketDistributor::playerListAll, PacketDistributor::playerListAllConnections, NetworkDirection.PLAY_TO_CLIENT);
     /**
      * Send to the server (CLIENT to SERVER)
      * <br/>
      * {@link #noArg()}
      */
-    public static final PacketDistributor<Void> SERVER = new PacketDistributor<>(PacketDistributor::clientToServer, NetworkDirection.PLAY_TO_SERVER);
+    public static final PacketDistributor<Void> SERVER = new PacketDistributor<>(PacketDistributor::clientToServer, PacketDistributor::serverConnection, NetworkDirection.PLAY_TO_SERVER);
     /**
      * Send to all tracking the Entity in the Supplier
      * <br/>
@@ -78,13 +81,13 @@ public class PacketDistributor<T> {
      * <br/>
      * {@link #with(Supplier)} Chunk
      */
-    public static final PacketDistributor<LevelChunk> TRACKING_CHUNK = new PacketDistributor<>(PacketDistributor::trackingChunk, NetworkDirection.PLAY_TO_CLIENT);
+    public static final PacketDistributor<LevelChunk> TRACKING_CHUNK = new PacketDistributor<>(PacketDistributor::trackingChunk, PacketDistributor::trackingChunkConnections, NetworkDirection.PLAY_TO_CLIENT);
     /**
      * Send to the supplied list of NetworkManager instances in the Supplier
      * <br/>
      * {@link #with(Supplier)} List of NetworkManager
      */
-    public static final PacketDistributor<List<Connection>> NMLIST = new PacketDistributor<>(PacketDistributor::networkManagerList, NetworkDirection.PLAY_TO_CLIENT);
+    public static final PacketDistributor<List<Connection>> NMLIST = new PacketDistributor<>(PacketDistributor::networkManagerList, PacketDistributor::networkManagerListConnections, NetworkDirection.PLAY_TO_CLIENT);
 
     public static final class TargetPoint {
 
@@ -155,14 +158,37 @@ public class PacketDistributor<T> {
      */
     public static class PacketTarget {
         private final Consumer<Packet<?>> packetConsumer;
+        @Nullable
+        private final Consumer<Consumer<Connection>> connections;
         private final PacketDistributor<?> distributor;
-        PacketTarget(final Consumer<Packet<?>> packetConsumer, final PacketDistributor<?> distributor) {
+        PacketTarget(final Consumer<Packet<?>> packetConsumer, @Nullable final Consumer<Consumer<Connection>> connections, final PacketDistributor<?> distributor) {
             this.packetConsumer = packetConsumer;
+            this.connections = connections;
             this.distributor = distributor;
         }
 
+        /**
+         * Sends the packet to every connection of this target. Custom payloads sent to several connections are only
+         * encoded and compressed once, instead of once per connection.
+         */
         public void send(Packet<?> packet) {
-            packetConsumer.accept(packet);
+            if (connections != null && distributor.direction == NetworkDirection.PLAY_TO_CLIENT && packet instanceof ClientboundCustomPayloadPacket)
+                BroadcastPacketEncoder.send(packet, connections);
+            else
+                packetConsumer.accept(packet);
+        }
+
+        /**
+         * Visits every connection this target sends to, if the distributor is able to resolve them.
+         *
+         * @param action Called for each connection
+         * @return false if the connections of this target can not be resolved, the action is not called in that case
+         */
+        public boolean forEachConnection(Consumer<Connection> action) {
+            if (connections == null)
+                return false;
+            connections.accept(action);
+            return true;
         }
 
         public NetworkDirection getDirection() {
@@ -172,10 +198,21 @@ public class PacketDistributor<T> {
     }
 
     private final BiFunction<PacketDistributor<T>, Supplier<T>, Consumer<Packet<?>>> functor;
+    @Nullable
+    private final BiFunction<PacketDistributor<T>, Supplier<T>, Consumer<Consumer<Connection>>> connections;
     private final NetworkDirection direction;
 
     public PacketDistributor(BiFunction<PacketDistributor<T>, Supplier<T>, Consumer<Packet<?>>> functor, NetworkDirection direction) {
+        this(functor, null, direction);
+    }
+
+    /**
+     * @param connections Resolves the connections packets are sent to, allowing per connection handling such as message batching.
+     *                    Must visit exactly the connections the functor sends to.
+     */
+    public PacketDistributor(BiFunction<PacketDistributor<T>, Supplier<T>, Consumer<Packet<?>>> functor, @Nullable BiFunction<PacketDistributor<T>, Supplier<T>, Consumer<Consumer<Connection>>> connections, NetworkDirection direction) {
         this.functor = functor;
+        this.connections = connections;
         this.direction = direction;
     }
 
@@ -185,7 +222,7 @@ public class PacketDistributor<T> {
      * @return A curried instance
      */
     public PacketTarget with(Supplier<T> input) {
-        return new PacketTarget(functor.apply(this, input), this);
+        return new PacketTarget(functor.apply(this, input), connections == null ? null : connections.apply(this, input), this);
     }
 
     /**
@@ -196,7 +233,7 @@ public class PacketDistributor<T> {
      * @return A curried instance
      */
     public PacketTarget noArg() {
-        return new PacketTarget(functor.apply(this, ()->null), this);
+        return new PacketTarget(functor.apply(this, ()->null), connections == null ? null : connections.apply(this, ()->null), this);
     }
 
     private Consumer<Packet<?>> playerConsumer(final Supplier<ServerPlayer> entityPlayerMPSupplier) {
@@ -246,6 +283,55 @@ public class PacketDistributor<T> {
         return p -> nmListSupplier.get().forEach(nm->nm.send(p));
     }
 
+    private Consumer<Consumer<Connection>> playerConnection(final Supplier<ServerPlayer> entityPlayerMPSupplier) {
+        return c -> c.accept(entityPlayerMPSupplier.get().connection.connection);
+    }
+
+    private Consumer<Consumer<Connection>> playerListDimConnections(final Supplier<ResourceKey<Level>> dimensionTypeSupplier) {
+        return c -> {
+            final ResourceKey<Level> dim = dimensionTypeSupplier.get();
+            for (ServerPlayer player : getServer().getPlayerList().getPlayers()) {
+                if (player.level.dimension() == dim)
+                    c.accept(player.connection.connection);
+            }
+        };
+    }
+
+    private Consumer<Consumer<Connection>> playerListAllConnections(final Supplier<Void> voidSupplier) {
+        return c -> getServer().getPlayerList().getPlayers().forEach(player -> c.accept(player.connection.connection));
+    }
+
+    private Consumer<Consumer<Connection>> serverConnection(final Supplier<Void> voidSupplier) {
+        return c -> c.accept(Minecraft.getInstance().getConnection().getConnection());
+    }
+
+    private Consumer<Consumer<Connection>> playerListPointConnections(final Supplier<TargetPoint> targetPointSupplier) {
+        return c -> {
+            final TargetPoint tp = targetPointSupplier.get();
+            // Same selection as PlayerList#broadcast
+            for (ServerPlayer player : getServer().getPlayerList().getPlayers()) {
+                if (player == tp.excluded || player.level.dimension() != tp.dim)
+                    continue;
+                double dx = tp.x - player.getX();
+                double dy = tp.y - player.getY();
+                double dz = tp.z - player.getZ();
+                if (dx * dx + dy * dy + dz * dz < tp.r2 * tp.r2)
+                    c.accept(player.connection.connection);
+            }
+        };
+    }
+
+    private Consumer<Consumer<Connection>> trackingChunkConnections(final Supplier<LevelChunk> chunkPosSupplier) {
+        return c -> {
+            final LevelChunk chunk = chunkPosSupplier.get();
+            ((ServerChunkCache)chunk.getLevel().getChunkSource()).chunkMap.getPlayers(chunk.getPos(), false).forEach(e -> c.accept(e.connection.connection));
+        };
+    }
+
+    private Consumer<Consumer<Connection>> networkManagerListConnections(final Supplier<List<Connection>> nmListSupplier) {
+        return c -> nmListSupplier.get().forEach(c);
+    }
+
     private MinecraftServer getServer() {
         return ServerLifecycleHooks.getCurrentServer();
     }
@@ -21,6 +21,7 @@ import net.minecraftforge.fml.ModList;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
 import java.util.List;
@@ -84,11 +85,37 @@ import java.util.stream.StreamSupport;
 public class ServerStatusPing
 {
     private static final Logger LOGGER = LogManager.getLogger();
+    // The data of this game, only changes when channels are registered
+    @Nullable
+    private static volatile ServerStatusPing current;
 
     private final transient Map<ResourceLocation, Pair<String, Boolean>> channels;
     private final transient Map<String, String> mods;
     private final transient int fmlNetworkVer;
     private final transient boolean truncated;
+    // Computed on the first status request, the data never changes afterwards
+    @Nullable
+    private transient volatile JsonObject serialized;
+
+    /**
+     * Returns the status data of the running game. It is built once after mods are loaded and shared by every server
+     * started afterwards, instead of collecting the channels and mod versions each time.
+     */
+    public static ServerStatusPing getCurrent()
+    {
+        ServerStatusPing ret = current;
+        if (ret == null)
+            current = ret = new ServerStatusPing();
+        return ret;
+    }
+
+    /**
+     * Drops the status data returned by {@link #getCurrent()}, called when the registered channels change.
+     */
+    static void invalidateCurrent()
+    {
+        current = null;
+    }
 
     public ServerStatusPing()
     {
@@ -182,7 +209,18 @@ public class ServerStatusPing
         }
 
 
+        /**
+         * The result is cached in the status data, the returned object is a copy that may be modified.
+         */
         public static JsonObject serialize(ServerStatusPing forgeData)
+        {
+            JsonObject ret = forgeData.serialized;
+            if (ret == null)
+                forgeData.serialized = ret = serializeUncached(forgeData);
+            return ret.deepCopy();
+        }
+
+        private static JsonObject serializeUncached(ServerStatusPing forgeData)
         {
             // The following techniques are used to keep the size down:
             // 1. Try and group channels by ModID, this relies on the assumption that a mod "examplemod" uses a channel
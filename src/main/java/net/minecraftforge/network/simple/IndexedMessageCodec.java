@@ -31,12 +31,17 @@ public class IndexedMessageCodec
     private final Short2ObjectArrayMap<MessageHandler<?>> indicies = new Short2ObjectArrayMap<>();
     private final Object2ObjectArrayMap<Class<?>, MessageHandler<?>> types = new Object2ObjectArrayMap<>();
     private final NetworkInstance networkInstance;
+    private final boolean batched;
 
     public IndexedMessageCodec() {
         this(null);
     }
     public IndexedMessageCodec(final NetworkInstance instance) {
+        this(instance, false);
+    }
+    IndexedMessageCodec(final NetworkInstance instance, boolean batched) {
         this.networkInstance = instance;
+        this.batched = batched;
     }
 
     @SuppressWarnings("unchecked")
@@ -144,6 +149,14 @@ public class IndexedMessageCodec
             return;
         }
         short discriminator = payload.readUnsignedByte();
+        if (batched && discriminator == MessageBatcher.BATCH_INDEX) {
+            // Messages of a batch are dispatched in the order they were sent
+            while (payload.isReadable()) {
+                int length = payload.readVarInt();
+                consume(new FriendlyByteBuf(payload.readSlice(length)), payloadIndex, context);
+            }
+            return;
+        }
         final MessageHandler<?> messageHandler = indicies.get(discriminator);
         if (messageHandler == null) {
             LOGGER.error(SIMPLENET, "Received invalid discriminator byte {} on channel {}", discriminator, Optional.ofNullable(networkInstance).map(NetworkInstance::getChannelName).map(Objects::toString).orElse("MISSING CHANNEL"));
@@ -154,6 +167,8 @@ public class IndexedMessageCodec
     }
 
     <MSG> MessageHandler<MSG> addCodecIndex(int index, Class<MSG> messageType, BiConsumer<MSG, FriendlyByteBuf> encoder, Function<FriendlyByteBuf, MSG> decoder, BiConsumer<MSG, Supplier<NetworkEvent.Context>> messageConsumer, final Optional<NetworkDirection> networkDirection) {
+        if (batched && (index & 0xff) == MessageBatcher.BATCH_INDEX)
+            throw new IllegalArgumentException("Discriminator " + MessageBatcher.BATCH_INDEX + " is reserved for message batches, it can not be used by " + messageType.getName());
         return new MessageHandler<>(index, messageType, encoder, decoder, messageConsumer, networkDirection);
     }
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.network.simple;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.Connection;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.network.NetworkDirection;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Collects the play messages a batching {@link SimpleChannel} sends to each connection during a tick, and sends them
+ * as a single payload per connection at the end of the tick.
+ * <p>
+ * A batch is framed as the reserved discriminator {@value #BATCH_INDEX}, followed by each message as a var int length
+ * and the encoded message including its own discriminator. Batches holding a single message are sent as that message.
+ * <p>
+ * A batch never grows past the payload size vanilla accepts in its direction, the messages that do not fit anymore
+ * start a new batch sent right after it. A message too large to share a batch is sent on its own.
+ */
+public final class MessageBatcher
+{
+    static final int BATCH_INDEX = 0xFF;
+    // The largest custom payloads vanilla accepts, see ClientboundCustomPayloadPacket and ServerboundCustomPayloadPacket
+    static final int MAX_CLIENTBOUND_PAYLOAD = 1048576;
+    static final int MAX_SERVERBOUND_PAYLOAD = 32767;
+    private static final List<MessageBatcher> BATCHERS = new CopyOnWriteArrayList<>();
+
+    private final ResourceLocation channelName;
+    private Map<Connection, PendingPayloads> toClient = new HashMap<>();
+    private Map<Connection, PendingPayloads> toServer = new HashMap<>();
+
+    MessageBatcher(ResourceLocation channelName)
+    {
+        this.channelName = channelName;
+        BATCHERS.add(this);
+    }
+
+    static boolean canBatch(NetworkDirection direction)
+    {
+        return direction == NetworkDirection.PLAY_TO_CLIENT || direction == NetworkDirection.PLAY_TO_SERVER;
+    }
+
+    /**
+     * Queues an encoded message for the connection, the message buffer is not consumed.
+     */
+    synchronized void add(Connection connection, NetworkDirection direction, FriendlyByteBuf message)
+    {
+        Map<Connection, PendingPayloads> pending = direction == NetworkDirection.PLAY_TO_CLIENT ? toClient : toServer;
+        PendingPayloads payloads = pending.get(connection);
+        if (payloads == null)
+            pending.put(connection, payloads = new PendingPayloads(direction == NetworkDirection.PLAY_TO_CLIENT ? MAX_CLIENTBOUND_PAYLOAD : MAX_SERVERBOUND_PAYLOAD));
+        payloads.add(message);
+    }
+
+    private void flush(NetworkDirection direction)
+    {
+        Map<Connection, PendingPayloads> pending;
+        synchronized (this)
+        {
+            if (direction == NetworkDirection.PLAY_TO_CLIENT)
+            {
+                pending = toClient;
+                if (pending.isEmpty())
+                    return;
+                toClient = new HashMap<>();
+            }
+            else
+            {
+                pending = toServer;
+                if (pending.isEmpty())
+                    return;
+                toServer = new HashMap<>();
+            }
+        }
+        pending.forEach((connection, payloads) -> {
+            if (!connection.isConnected())
+                return;
+            for (FriendlyByteBuf payload : payloads.payloads())
+                connection.send(direction.buildPacket(Pair.of(payload, Integer.MIN_VALUE), channelName).getThis());
+        });
+    }
+
+    /**
+     * Sends the messages batched by all channels in the given direction. Called at the end of every client and server tick.
+     */
+    @ApiStatus.Internal
+    public static void flushAll(NetworkDirection direction)
+    {
+        for (MessageBatcher batcher : BATCHERS)
+            batcher.flush(direction);
+    }
+
+    /**
+     * The messages queued for one connection, framed into as few batches as the maximum payload size allows.
+     */
+    static final class PendingPayloads
+    {
+        private final int maxPayloadSize;
+        private final List<Batch> batches = new ArrayList<>(1);
+
+        PendingPayloads(int maxPayloadSize)
+        {
+            this.maxPayloadSize = maxPayloadSize;
+        }
+
+        /**
+         * Queues an encoded message, the message buffer is not consumed.
+         */
+        void add(FriendlyByteBuf message)
+        {
+            Batch batch = batches.isEmpty() ? null : batches.get(batches.size() - 1);
+            if (batch == null || !batch.fits(message.readableBytes(), maxPayloadSize))
+                batches.add(batch = new Batch());
+            batch.add(message);
+        }
+
+        /**
+         * @return The payloads to send, in the order their messages were queued
+         */
+        List<FriendlyByteBuf> payloads()
+        {
+            List<FriendlyByteBuf> ret = new ArrayList<>(batches.size());
+            for (Batch batch : batches)
+                ret.add(batch.payload());
+            return ret;
+        }
+    }
+
+    private static final class Batch
+    {
+        private final FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+        private int count;
+        private int firstStart;
+        private int firstLength;
+
+        private Batch()
+        {
+            buffer.writeByte(BATCH_INDEX);
+        }
+
+        private boolean fits(int length, int maxPayloadSize)
+        {
+            return buffer.writerIndex() + FriendlyByteBuf.getVarIntSize(length) + length <= maxPayloadSize;
+        }
+
+        private void add(FriendlyByteBuf message)
+        {
+            int length = message.readableBytes();
+            buffer.writeVarInt(length);
+            if (count++ == 0)
+            {
+                firstStart = buffer.writerIndex();
+                firstLength = length;
+            }
+            buffer.writeBytes(message, message.readerIndex(), length);
+        }
+
+        private FriendlyByteBuf payload()
+        {
+            return count == 1 ? new FriendlyByteBuf(buffer.slice(firstStart, firstLength)) : buffer;
+        }
+    }
+}
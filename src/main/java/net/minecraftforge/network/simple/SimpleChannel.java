@@ -16,6 +16,8 @@ import net.minecraftforge.network.NetworkInstance;
 import net.minecraftforge.network.PacketDistributor;
 import org.apache.commons.lang3.tuple.Pair;
 
+import org.jetbrains.annotations.Nullable;
+
 import java.util.*;
 import java.util.function.*;
 
@@ -27,14 +29,26 @@ public class SimpleChannel
     private final Optional<Consumer<NetworkEvent.ChannelRegistrationChangeEvent>> registryChangeConsumer;
     private List<Function<Boolean, ? extends List<? extends Pair<String,?>>>> loginPackets;
     private Map<Class<?>, Boolean> packetsNeedResponse;
+    @Nullable
+    private final MessageBatcher batcher;
 
     public SimpleChannel(NetworkInstance instance) {
-        this(instance, Optional.empty());
+        this(instance, Optional.empty(), false);
+    }
+
+    /**
+     * @param batchMessages If play messages sent to the same connection during a tick should be combined into a single
+     *                      payload sent at the end of the tick. This reserves the discriminator {@code 255}, and has to be
+     *                      enabled on both sides.
+     */
+    public SimpleChannel(NetworkInstance instance, boolean batchMessages) {
+        this(instance, Optional.empty(), batchMessages);
     }
 
-    private SimpleChannel(NetworkInstance instance, Optional<Consumer<NetworkEvent.ChannelRegistrationChangeEvent>> registryChangeNotify) {
+    private SimpleChannel(NetworkInstance instance, Optional<Consumer<NetworkEvent.ChannelRegistrationChangeEvent>> registryChangeNotify, boolean batchMessages) {
         this.instance = instance;
-        this.indexedCodec = new IndexedMessageCodec(instance);
+        this.indexedCodec = new IndexedMessageCodec(instance, batchMessages);
+        this.batcher = batchMessages ? new MessageBatcher(instance.getChannelName()) : null;
         this.loginPackets = new ArrayList<>();
         this.packetsNeedResponse = new HashMap<>();
         instance.addListener(this::networkEventListener);
@@ -43,7 +57,7 @@ public class SimpleChannel
     }
 
     public SimpleChannel(NetworkInstance instance, Consumer<NetworkEvent.ChannelRegistrationChangeEvent> registryChangeNotify) {
-        this(instance, Optional.of(registryChangeNotify));
+        this(instance, Optional.of(registryChangeNotify), false);
     }
 
     private void networkLoginGather(final NetworkEvent.GatherLoginPayloadsEvent gatherEvent) {
@@ -89,6 +103,11 @@ public class SimpleChannel
 
     public <MSG> void sendTo(MSG message, Connection manager, NetworkDirection direction)
     {
+        if (batcher != null && MessageBatcher.canBatch(direction))
+        {
+            batcher.add(manager, direction, toBuffer(message).getLeft());
+            return;
+        }
         manager.send(toVanillaPacket(message, direction));
     }
 
@@ -104,6 +123,12 @@ public class SimpleChannel
      * @param <MSG> The type of the message
      */
     public <MSG> void send(PacketDistributor.PacketTarget target, MSG message) {
+        if (batcher != null && MessageBatcher.canBatch(target.getDirection())) {
+            final Pair<FriendlyByteBuf, Integer> data = toBuffer(message);
+            if (!target.forEachConnection(connection -> batcher.add(connection, target.getDirection(), data.getLeft())))
+                target.send(target.getDirection().buildPacket(data, instance.getChannelName()).getThis());
+            return;
+        }
         target.send(toVanillaPacket(message, target.getDirection()));
     }
 
@@ -5,8 +5,14 @@
 
 package net.minecraftforge.registries;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 import com.mojang.datafixers.util.Pair;
 import com.mojang.serialization.Codec;
@@ -24,6 +30,7 @@ import org.apache.commons.lang3.Validate;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.hash.Hashing;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
 import com.google.common.collect.Lists;
@@ -32,6 +39,8 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 
 import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.StringTag;
@@ -53,7 +62,7 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
     private static Marker REGISTRYDUMP = MarkerManager.getMarker("REGISTRYDUMP");
     private static Logger LOGGER = LogManager.getLogger();
     private final RegistryManager stage;
-    private final BiMap<Integer, V> ids = HashBiMap.create();
+    private final IdMap<V> ids = new IdMap<>();
     private final BiMap<ResourceLocation, V> names = HashBiMap.create();
     private final BiMap<ResourceKey<V>, V> keys = HashBiMap.create();
     private final Map<ResourceLocation, ResourceLocation> aliases = Maps.newHashMap();
@@ -68,7 +77,7 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
     private final MissingFactory<V> missing;
     private final BitSet availabilityMap;
     private final Set<ResourceLocation> dummies = Sets.newHashSet();
-    private final Set<Integer> blocked = Sets.newHashSet();
+    private final IntSet blocked = new IntOpenHashSet();
     private final Multimap<ResourceLocation, V> overrides = ArrayListMultimap.create();
     private final Map<ResourceLocation, Holder.Reference<V>> delegatesByName = Maps.newHashMap();
     private final Map<V, Holder.Reference<V>> delegatesByValue = Maps.newHashMap();
@@ -331,10 +340,10 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
 
     public int getID(V value)
     {
-        Integer ret = this.ids.inverse().get(value);
-        if (ret == null && this.defaultValue != null)
-            ret = this.ids.inverse().get(this.defaultValue);
-        return ret == null ? -1 : ret.intValue();
+        int ret = this.ids.getId(value);
+        if (ret == -1 && this.defaultValue != null)
+            ret = this.ids.getId(this.defaultValue);
+        return ret;
     }
 
     public int getID(ResourceLocation name)
@@ -343,8 +352,7 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
     }
     private int getIDRaw(V value)
     {
-        Integer ret = this.ids.inverse().get(value);
-        return ret == null ? -1 : ret.intValue();
+        return this.ids.getId(value);
     }
     private int getIDRaw(ResourceLocation name)
     {
@@ -415,8 +423,8 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
             idToUse = this.getID(oldEntry);
         }
 
-        Integer foundId = this.ids.inverse().get(value); //Is this ever possible to trigger with otherThing being different?
-        if (foundId != null)
+        int foundId = this.ids.getId(value); //Is this ever possible to trigger with otherThing being different?
+        if (foundId != -1)
         {
             V otherThing = this.ids.get(foundId);
             throw new IllegalArgumentException(String.format(Locale.ENGLISH, "The object %s{%x} has been registered twice, using the names %s and %s. (Other object at this id is %s{%x})", value, System.identityHashCode(value), getKey(value), key, otherThing, System.identityHashCode(otherThing)));
@@ -734,8 +742,8 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
             if (rkey == null)
                 throw new IllegalStateException("Removed a entry that did not have an associated RegistryKey: " + key + " " + value.toString() + " This should never happen unless hackery!");
 
-            Integer id = this.ids.inverse().remove(value);
-            if (id == null)
+            int id = this.ids.removeValue(value);
+            if (id == -1)
                 throw new IllegalStateException("Removed a entry that did not have an associated id: " + key + " " + value.toString() + " This should never happen unless hackery!");
 
             LOGGER.trace(REGISTRIES,"Registry {} remove: {} {}", this.name, key, id);
@@ -941,8 +949,8 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
             if (rkey == null)
                 throw new IllegalStateException("Removed a entry that did not have an associated RegistryKey: " + key + " " + value.toString() + " This should never happen unless hackery!");
 
-            Integer oldid = this.ids.inverse().remove(value);
-            if (oldid == null)
+            int oldid = this.ids.removeValue(value);
+            if (oldid == -1)
                 throw new IllegalStateException("Removed a entry that did not have an associated id: " + key + " " + value.toString() + " This should never happen unless hackery!");
 
             if (oldid != id)
@@ -1025,12 +1033,15 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
     public static class Snapshot
     {
         private static final Comparator<ResourceLocation> sorter = (a,b) -> a.compareNamespaced(b);
+        private static final int MAX_PACKET_SIZE = 64 * 1024 * 1024;
         public final Map<ResourceLocation, Integer> ids = Maps.newTreeMap(sorter);
         public final Map<ResourceLocation, ResourceLocation> aliases = Maps.newTreeMap(sorter);
         public final Set<Integer> blocked = Sets.newTreeSet();
         public final Set<ResourceLocation> dummied = Sets.newTreeSet(sorter);
         public final Map<ResourceLocation, String> overrides = Maps.newTreeMap(sorter);
         private FriendlyByteBuf binary = null;
+        private byte[] compressed = null;
+        private String hash = null;
 
         public CompoundTag write()
         {
@@ -1152,6 +1163,66 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
             return new FriendlyByteBuf(binary.slice());
         }
 
+        /**
+         * @return The {@link #getPacketData() packet data}, deflated. Computed once and cached like the packet data itself.
+         */
+        public synchronized byte[] getCompressedPacketData()
+        {
+            if (compressed == null)
+            {
+                FriendlyByteBuf data = getPacketData();
+                byte[] raw = new byte[data.readableBytes()];
+                data.readBytes(raw);
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(raw.length / 4 + 16);
+                try (DeflaterOutputStream out = new DeflaterOutputStream(bytes))
+                {
+                    out.write(raw);
+                }
+                catch (IOException e)
+                {
+                    throw new UncheckedIOException(e);
+                }
+                this.compressed = bytes.toByteArray();
+                this.hash = Hashing.sha256().hashBytes(raw).toString();
+            }
+            return compressed;
+        }
+
+        /**
+         * @return A hash of the {@link #getPacketData() packet data}, equal for snapshots holding the same data
+         */
+        public synchronized String getHash()
+        {
+            if (hash == null)
+                getCompressedPacketData();
+            return hash;
+        }
+
+        /**
+         * Reads a snapshot from data produced by {@link #getCompressedPacketData()}.
+         *
+         * @throws IllegalArgumentException if the data is malformed or inflates to more than {@link #MAX_PACKET_SIZE} bytes
+         */
+        public static Snapshot readCompressed(byte[] data)
+        {
+            byte[] raw;
+            try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(data)))
+            {
+                raw = in.readNBytes(MAX_PACKET_SIZE);
+                if (in.read() != -1)
+                    throw new IllegalArgumentException("Registry snapshot exceeds " + MAX_PACKET_SIZE + " bytes");
+            }
+            catch (IOException e)
+            {
+                throw new IllegalArgumentException("Malformed compressed registry snapshot", e);
+            }
+
+            Snapshot ret = read(new FriendlyByteBuf(Unpooled.wrappedBuffer(raw)));
+            ret.compressed = data;
+            ret.hash = Hashing.sha256().hashBytes(raw).toString();
+            return ret;
+        }
+
         public static Snapshot read(FriendlyByteBuf buff)
         {
             if (buff == null)
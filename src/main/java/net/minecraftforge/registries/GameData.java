@@ -299,6 +299,7 @@ public class GameData
 
         // the id mapping is finalized, no ids actually changed but this is a good place to tell everyone to 'bake' their stuff.
         fireRemapEvent(ImmutableMap.of(), true);
+        RegistryManager.invalidateSyncSnapshots();
 
         LOGGER.debug(REGISTRIES, "All registries frozen");
     }
@@ -600,6 +601,8 @@ public class GameData
 
     private static <T> void loadRegistry(final ResourceLocation registryName, final RegistryManager from, final RegistryManager to, boolean freeze)
     {
+        if (to == RegistryManager.ACTIVE)
+            RegistryManager.invalidateSyncSnapshots();
         ForgeRegistry<T> fromRegistry = from.getRegistry(registryName);
         if (fromRegistry == null)
         {
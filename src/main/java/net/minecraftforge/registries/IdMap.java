@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.registries;
+
+import java.util.Arrays;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Bidirectional mapping between the int ids of a {@link ForgeRegistry} and its values, without boxing.
+ * Values are stored in an array indexed by id, and looked up by identity in the other direction.
+ * Like a BiMap, every id maps to at most one value and every value to at most one id.
+ */
+final class IdMap<V>
+{
+    private static final Object[] EMPTY = new Object[0];
+
+    private Object[] byId = EMPTY;
+    private final Reference2IntOpenHashMap<V> byValue = new Reference2IntOpenHashMap<>();
+
+    IdMap()
+    {
+        this.byValue.defaultReturnValue(-1);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    V get(int id)
+    {
+        return id >= 0 && id < byId.length ? (V) byId[id] : null;
+    }
+
+    /**
+     * @return The id of the value, or -1 if it has none
+     */
+    int getId(V value)
+    {
+        return byValue.getInt(value);
+    }
+
+    /**
+     * Binds the value to the id, replacing whatever value was bound to the id before.
+     *
+     * @throws IllegalArgumentException if the value is already bound to another id
+     */
+    void put(int id, V value)
+    {
+        int existing = byValue.getInt(value);
+        if (existing != -1 && existing != id)
+            throw new IllegalArgumentException("value already present: " + value);
+        if (id >= byId.length)
+            byId = Arrays.copyOf(byId, Math.max(id + 1, Math.max(16, byId.length + (byId.length >> 1))));
+        @SuppressWarnings("unchecked")
+        V old = (V) byId[id];
+        if (old != null)
+            byValue.removeInt(old);
+        byId[id] = value;
+        byValue.put(value, id);
+    }
+
+    /**
+     * @return The id the value was bound to, or -1 if it had none
+     */
+    int removeValue(V value)
+    {
+        int id = byValue.removeInt(value);
+        if (id != -1)
+            byId[id] = null;
+        return id;
+    }
+
+    int size()
+    {
+        return byValue.size();
+    }
+
+    void clear()
+    {
+        byId = EMPTY;
+        byValue.clear();
+    }
+
+    /**
+     * Visits every binding in ascending id order.
+     */
+    @SuppressWarnings("unchecked")
+    void forEach(Visitor<V> visitor)
+    {
+        for (int id = 0; id < byId.length; id++)
+        {
+            if (byId[id] != null)
+                visitor.accept(id, (V) byId[id]);
+        }
+    }
+
+    @FunctionalInterface
+    interface Visitor<V>
+    {
+        void accept(int id, V value);
+    }
+}
@@ -5,6 +5,9 @@
 
 package net.minecraftforge.registries;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.Locale;
@@ -23,6 +26,8 @@ class ObjectHolderRef implements Consumer<Predicate<ResourceLocation>>
 {
     private static final Logger LOGGER  = LogManager.getLogger();
     private final Field field;
+    // Resolved once, as every holder is injected again on each registry event and id remap
+    private final MethodHandle setter;
     private final ResourceLocation injectedObject;
     private final ForgeRegistry<?> registry;
 
@@ -72,16 +77,32 @@ class ObjectHolderRef implements Consumer<Predicate<ResourceLocation>>
             throw new RuntimeException("@ObjectHolder on final field, our transformer did not run? " + field.getDeclaringClass().getName() + "/" + field.getName());
         }
 
-        return new ObjectHolderRef(registry, field, injectedObjectName);
+        MethodHandle setter;
+        try
+        {
+            setter = MethodHandles.lookup().unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class));
+        }
+        catch (IllegalAccessException e)
+        {
+            throw new RuntimeException(e);
+        }
+
+        return new ObjectHolderRef(registry, field, setter, injectedObjectName);
     }
 
-    private ObjectHolderRef(ForgeRegistry<?> registry, Field field, ResourceLocation injectedObject)
+    private ObjectHolderRef(ForgeRegistry<?> registry, Field field, MethodHandle setter, ResourceLocation injectedObject)
     {
         this.registry = registry;
         this.field = field;
+        this.setter = setter;
         this.injectedObject = injectedObject;
     }
 
+    ResourceLocation getRegistryName()
+    {
+        return registry.getRegistryName();
+    }
+
     @Override
     public void accept(Predicate<ResourceLocation> filter)
     {
@@ -105,12 +126,16 @@ class ObjectHolderRef implements Consumer<Predicate<ResourceLocation>>
         }
         try
         {
-            field.set(null, thing);
+            setter.invokeExact(thing);
         }
-        catch (IllegalArgumentException | ReflectiveOperationException e)
+        catch (ClassCastException e)
         {
             LOGGER.warn("Unable to set {} with value {} ({})", this.field, thing, this.injectedObject, e);
         }
+        catch (Throwable e)
+        {
+            throw new RuntimeException("Unable to set " + this.field, e);
+        }
     }
 
     @Override
@@ -7,8 +7,9 @@ package net.minecraftforge.registries;
 
 import java.lang.annotation.ElementType;
 import java.lang.reflect.Field;
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -16,10 +17,11 @@ import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.fml.ModList;
 import net.minecraftforge.fml.common.Mod;
-import net.minecraftforge.forgespi.language.ModFileScanData;
 
 import com.google.common.collect.Maps;
 
@@ -45,7 +47,10 @@ public class ObjectHolderRegistry
      */
     public static synchronized void addHandler(Consumer<Predicate<ResourceLocation>> ref)
     {
-        objectHolders.add(ref);
+        if (ref instanceof ObjectHolderRef holder)
+            holdersByRegistry.computeIfAbsent(holder.getRegistryName(), k -> new HashSet<>()).add(holder);
+        else
+            objectHolders.add(ref);
     }
 
     /**
@@ -59,6 +64,11 @@ public class ObjectHolderRegistry
      */
     public static synchronized boolean removeHandler(Consumer<Predicate<ResourceLocation>> ref)
     {
+        if (ref instanceof ObjectHolderRef holder)
+        {
+            Set<ObjectHolderRef> holders = holdersByRegistry.get(holder.getRegistryName());
+            return holders != null && holders.remove(holder);
+        }
         return objectHolders.remove(ref);
     }
 
@@ -67,7 +77,11 @@ public class ObjectHolderRegistry
     //==============================================================
 
     private static final Logger LOGGER = LogManager.getLogger();
+    // Handlers of unknown origin, which have to be visited for every registry
     private static final Set<Consumer<Predicate<ResourceLocation>>> objectHolders = new HashSet<>();
+    // @ObjectHolder fields and RegistryObjects, bucketed by their registry so that only the relevant ones are visited
+    private static final Map<ResourceLocation, Set<ObjectHolderRef>> holdersByRegistry = new LinkedHashMap<>();
+    private static final Map<ResourceLocation, RegistryObjectBatch> registryObjects = new LinkedHashMap<>();
     private static final Type OBJECT_HOLDER = Type.getType(ObjectHolder.class);
     private static final Type MOD = Type.getType(Mod.class);
     // Hardcoded list of vanilla classes that should have object holders for each field of the given registry type.
@@ -85,18 +99,11 @@ public class ObjectHolderRegistry
     public static void findObjectHolders()
     {
         LOGGER.debug(REGISTRIES,"Processing ObjectHolder annotations");
-        final List<ModFileScanData.AnnotationData> annotations = ModList.get().getAllScanData().stream()
-            .map(ModFileScanData::getAnnotations)
-            .flatMap(Collection::stream)
-            .filter(a -> OBJECT_HOLDER.equals(a.annotationType()) || MOD.equals(a.annotationType()))
-            .toList();
-
         Map<Type, String> classModIds = Maps.newHashMap();
         Map<Type, Class<?>> classCache = Maps.newHashMap();
 
         // Gather all @Mod classes so that @ObjectHolder's in those classes don't need to specify the mod id; modder convenience
-        annotations.stream()
-                .filter(a -> MOD.equals(a.annotationType()))
+        ModList.get().getAllAnnotations(MOD)
                 .forEach(data -> classModIds.put(data.clazz(), (String)data.annotationData().get("value")));
 
         // Validate all the vanilla class-level object holders then scan those first
@@ -117,13 +124,13 @@ public class ObjectHolderRegistry
         });
 
         // Scan actual fields annotated with @ObjectHolder second
-        annotations.stream()
-                .filter(a -> OBJECT_HOLDER.equals(a.annotationType())).filter(a -> a.targetType() == ElementType.FIELD)
+        ModList.get().getAllAnnotations(OBJECT_HOLDER).stream()
+                .filter(a -> a.targetType() == ElementType.FIELD)
                 .forEach(data -> scanTarget(classModIds, classCache, data.clazz(),
                         data.memberName(), null, (String)data.annotationData().get("registryName"),
                         (String)data.annotationData().get("value"), false, false));
 
-        LOGGER.debug(REGISTRIES,"Found {} ObjectHolder annotations", objectHolders.size());
+        LOGGER.debug(REGISTRIES,"Found {} ObjectHolder annotations", holdersByRegistry.values().stream().mapToInt(Set::size).sum());
     }
 
     private static void scanTarget(Map<Type, String> classModIds, Map<Type, Class<?>> classCache, Type type,
@@ -220,9 +227,35 @@ public class ObjectHolderRegistry
         }
     }
 
+    /**
+     * Tracks a registry object so it is refreshed along with the other objects of its registry.
+     *
+     * @param modid The mod creating the registry object, if the registry has to exist
+     * @param callerStack Where the registry object was created, if the registry has to exist
+     */
+    static synchronized void addRegistryObject(ResourceLocation registryName, RegistryObject<?> object, @Nullable String modid, @Nullable Throwable callerStack)
+    {
+        registryObjects.computeIfAbsent(registryName, RegistryObjectBatch::new).add(object, modid, callerStack);
+    }
+
     public static void applyObjectHolders(Predicate<ResourceLocation> filter)
     {
         RuntimeException aggregate = new RuntimeException("Failed to apply some object holders, see suppressed exceptions for details");
+        holdersByRegistry.forEach((registryName, holders) -> {
+            if (!filter.test(registryName))
+                return;
+            holders.forEach(holder -> {
+                try
+                {
+                    holder.accept(filter);
+                }
+                catch (Exception e)
+                {
+                    aggregate.addSuppressed(e);
+                }
+            });
+        });
+        registryObjects.forEach((registryName, batch) -> batch.apply(filter.test(registryName), aggregate));
         objectHolders.forEach(objectHolder -> {
             try
             {
@@ -241,4 +274,64 @@ public class ObjectHolderRegistry
     }
 
     private record VanillaObjectHolderData(String holderClass, String registryName, String registryType) {}
+
+    /**
+     * The registry objects of one registry, refreshed together after looking up the registry once.
+     */
+    private static final class RegistryObjectBatch
+    {
+        private final ResourceLocation registryName;
+        private final List<RegistryObject<?>> objects = new ArrayList<>();
+        // Registry objects whose registry has to exist, until it has been seen once
+        private final List<RequiredRegistry> unchecked = new ArrayList<>();
+
+        private RegistryObjectBatch(ResourceLocation registryName)
+        {
+            this.registryName = registryName;
+        }
+
+        private void add(RegistryObject<?> object, @Nullable String modid, @Nullable Throwable callerStack)
+        {
+            if (callerStack != null)
+                unchecked.add(new RequiredRegistry(object, modid, callerStack));
+            else
+                objects.add(object);
+        }
+
+        private void apply(boolean refresh, RuntimeException aggregate)
+        {
+            ForgeRegistry<?> forgeRegistry = RegistryManager.ACTIVE.getRegistry(registryName);
+            Registry<?> vanillaRegistry = forgeRegistry == null ? BuiltInRegistries.REGISTRY.get(registryName) : null;
+
+            // Registry objects of missing registries are reported once and never refreshed, no matter the filter
+            if (!unchecked.isEmpty())
+            {
+                boolean exists = forgeRegistry != null || vanillaRegistry != null;
+                for (RequiredRegistry required : unchecked)
+                {
+                    if (exists)
+                        objects.add(required.object());
+                    else
+                        aggregate.addSuppressed(new IllegalStateException("Unable to find registry with key " + registryName + " for mod \"" + required.modid() + "\". Check the 'caused by' to see further stack.", required.callerStack()));
+                }
+                unchecked.clear();
+            }
+
+            if (!refresh)
+                return;
+            for (RegistryObject<?> object : objects)
+            {
+                try
+                {
+                    object.updateReference(forgeRegistry, vanillaRegistry);
+                }
+                catch (Exception e)
+                {
+                    aggregate.addSuppressed(e);
+                }
+            }
+        }
+
+        private record RequiredRegistry(RegistryObject<?> object, @Nullable String modid, Throwable callerStack) {}
+    }
 }
@@ -38,6 +38,8 @@ public class RegistryManager
     public static final RegistryManager VANILLA = new RegistryManager("VANILLA");
     public static final RegistryManager FROZEN = new RegistryManager("FROZEN");
     private static Set<ResourceLocation> vanillaRegistryKeys = Set.of();
+    // Snapshots of the synced ACTIVE registries sent to every connecting client, dropped whenever the ACTIVE registries are reloaded
+    private static volatile Map<ResourceLocation, Snapshot> syncSnapshots;
 
     BiMap<ResourceLocation, ForgeRegistry<?>> registries = HashBiMap.create();
     private Set<ResourceLocation> persisted = Sets.newHashSet();
@@ -197,9 +199,40 @@ public class RegistryManager
 
     public static List<Pair<String, HandshakeMessages.S2CRegistry>> generateRegistryPackets(boolean isLocal)
     {
-        return !isLocal ? ACTIVE.takeSnapshot(false).entrySet().stream().
-                map(e->Pair.of("Registry " + e.getKey(), new HandshakeMessages.S2CRegistry(e.getKey(), e.getValue()))).
-                collect(Collectors.toList()) : Collections.emptyList();
+        return !isLocal ? generateRegistryPackets(Collections.emptyMap()) : Collections.emptyList();
+    }
+
+    /**
+     * Builds the registry packets for a remote client. Registries the client already holds a snapshot of, as
+     * identified by its {@link Snapshot#getHash() hash}, are sent as a reference to that snapshot instead of in full.
+     *
+     * @param knownHashes The hashes of the snapshots known to the client, by registry name
+     */
+    public static List<Pair<String, HandshakeMessages.S2CRegistry>> generateRegistryPackets(Map<ResourceLocation, String> knownHashes)
+    {
+        return getSyncSnapshots().entrySet().stream().
+                map(e->Pair.of("Registry " + e.getKey(), e.getValue().getHash().equals(knownHashes.get(e.getKey())) ?
+                        HandshakeMessages.S2CRegistry.unchanged(e.getKey(), e.getValue()) :
+                        new HandshakeMessages.S2CRegistry(e.getKey(), e.getValue()))).
+                collect(Collectors.toList());
+    }
+
+    private static Map<ResourceLocation, Snapshot> getSyncSnapshots()
+    {
+        Map<ResourceLocation, Snapshot> ret = syncSnapshots;
+        if (ret == null)
+        {
+            ret = Collections.unmodifiableMap(ACTIVE.takeSnapshot(false));
+            // Encode everything up front, so connecting clients only ever copy the cached bytes
+            ret.values().forEach(Snapshot::getCompressedPacketData);
+            syncSnapshots = ret;
+        }
+        return ret;
+    }
+
+    static void invalidateSyncSnapshots()
+    {
+        syncSnapshots = null;
     }
 
     public static List<ResourceLocation> getRegistryNamesForSyncToClient()
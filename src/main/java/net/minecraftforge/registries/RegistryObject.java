@@ -146,11 +146,7 @@ public final class RegistryObject<T> implements Supplier<T>
         this.name = name;
         this.key = (ResourceKey<T>) ResourceKey.create(registry.getRegistryKey(), name);
         this.optionalRegistry = false;
-        ObjectHolderRegistry.addHandler(pred ->
-        {
-            if (pred.test(registry.getRegistryName()))
-                this.updateReference((IForgeRegistry<? extends T>) registry);
-        });
+        ObjectHolderRegistry.addRegistryObject(registry.getRegistryName(), this, null, null);
         this.updateReference((IForgeRegistry<? extends T>) registry);
     }
 
@@ -159,30 +155,10 @@ public final class RegistryObject<T> implements Supplier<T>
         this.name = name;
         this.key = ResourceKey.create(ResourceKey.createRegistryKey(registryName), name);
         this.optionalRegistry = optionalRegistry;
-        final Throwable callerStack = new Throwable("Calling Site from mod: " + modid);
-        ObjectHolderRegistry.addHandler(new Consumer<>()
-        {
-            private boolean registryExists = false;
-            private boolean invalidRegistry = false;
-
-            @Override
-            public void accept(Predicate<ResourceLocation> pred)
-            {
-                if (invalidRegistry)
-                    return;
-                if (!RegistryObject.this.optionalRegistry && !registryExists)
-                {
-                    if (!registryExists(registryName))
-                    {
-                        invalidRegistry = true;
-                        throw new IllegalStateException("Unable to find registry with key " + registryName + " for mod \"" + modid + "\". Check the 'caused by' to see further stack.", callerStack);
-                    }
-                    registryExists = true;
-                }
-                if (pred.test(registryName))
-                    RegistryObject.this.updateReference(registryName);
-            }
-        });
+        if (optionalRegistry)
+            ObjectHolderRegistry.addRegistryObject(registryName, this, null, null);
+        else
+            ObjectHolderRegistry.addRegistryObject(registryName, this, modid, new Throwable("Calling Site from mod: " + modid));
         this.updateReference(registryName);
     }
 
@@ -239,22 +215,29 @@ public final class RegistryObject<T> implements Supplier<T>
         }
     }
 
-    @SuppressWarnings("unchecked")
     void updateReference(ResourceLocation registryName)
     {
         if (this.name == null)
             return;
-        IForgeRegistry<? extends T> forgeRegistry = RegistryManager.ACTIVE.getRegistry(registryName);
+        IForgeRegistry<?> forgeRegistry = RegistryManager.ACTIVE.getRegistry(registryName);
+        updateReference(forgeRegistry, forgeRegistry == null ? BuiltInRegistries.REGISTRY.get(registryName) : null);
+    }
+
+    /**
+     * Updates from whichever of the two registries is present, used to refresh all objects of a registry after looking it up once.
+     */
+    @SuppressWarnings("unchecked")
+    void updateReference(@Nullable IForgeRegistry<?> forgeRegistry, @Nullable Registry<?> vanillaRegistry)
+    {
         if (forgeRegistry != null)
         {
-            updateReference(forgeRegistry);
+            updateReference((IForgeRegistry<? extends T>) forgeRegistry);
             return;
         }
 
-        Registry<? extends T> vanillaRegistry = (Registry<? extends T>) BuiltInRegistries.REGISTRY.get(registryName);
         if (vanillaRegistry != null)
         {
-            updateReference(vanillaRegistry);
+            updateReference((Registry<? extends T>) vanillaRegistry);
             return;
         }
 
@@ -278,12 +261,6 @@ public final class RegistryObject<T> implements Supplier<T>
             this.value = null;
     }
 
-    private static boolean registryExists(ResourceLocation registryName)
-    {
-        return RegistryManager.ACTIVE.getRegistry(registryName) != null
-                || BuiltInRegistries.REGISTRY.containsKey(registryName);
-    }
-
     public ResourceLocation getId()
     {
         return this.name;
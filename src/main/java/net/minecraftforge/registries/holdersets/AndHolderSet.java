@@ -36,7 +36,7 @@ public class AndHolderSet<T> extends CompositeHolderSet<T>
     {
         return HolderSetCodec.create(registryKey, holderCodec, forceList)
             .listOf()
-            .xmap(AndHolderSet::new, CompositeHolderSet::homogenize)
+            .xmap(values -> HolderSetInterner.<AndHolderSet<T>>intern(AndHolderSet.class, values, () -> new AndHolderSet<>(values)), CompositeHolderSet::homogenize)
             .fieldOf("values")
             .codec();
     }
@@ -16,6 +16,7 @@ import net.minecraft.core.HolderOwner;
 import org.jetbrains.annotations.Nullable;
 
 import com.mojang.datafixers.util.Either;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 
 import net.minecraft.core.Holder;
 import net.minecraft.core.HolderSet;
@@ -27,6 +28,9 @@ import net.minecraft.util.RandomSource;
  * (which have this holderset as a component).
  * When their component holderset(s) invalidate, they clear any cached data and then
  * invalidate their owner holdersets.
+ * <p>
+ * The cached data is rebuilt on first use after an invalidation, and membership is tested against
+ * an identity set of the registry holders, without consulting the components again.
  */
 public abstract class CompositeHolderSet<T> implements ICustomHolderSet<T>
 {
@@ -34,9 +38,11 @@ public abstract class CompositeHolderSet<T> implements ICustomHolderSet<T>
     private final List<HolderSet<T>> components;
 
     @Nullable
-    private Set<Holder<T>> set = null;
+    private volatile Set<Holder<T>> set = null;
     @Nullable
-    private List<Holder<T>> list = null;
+    private volatile List<Holder<T>> list = null;
+    @Nullable
+    private volatile Membership<T> membership = null;
 
     public CompositeHolderSet(List<HolderSet<T>> components)
     {
@@ -93,10 +99,22 @@ public abstract class CompositeHolderSet<T> implements ICustomHolderSet<T>
         this.owners.add(runnable);
     }
 
+    private Membership<T> getMembership()
+    {
+        Membership<T> thisMembership = this.membership;
+        if (thisMembership == null)
+        {
+            thisMembership = Membership.of(this.getSet());
+            this.membership = thisMembership;
+        }
+        return thisMembership;
+    }
+
     private void invalidate()
     {
         this.set = null;
         this.list = null;
+        this.membership = null;
         for (Runnable runnable : this.owners)
         {
             runnable.run();
@@ -140,7 +158,7 @@ public abstract class CompositeHolderSet<T> implements ICustomHolderSet<T>
     @Override
     public boolean contains(Holder<T> holder)
     {
-        return this.getSet().contains(holder);
+        return this.getMembership().contains(holder);
     }
 
     @Override
@@ -240,4 +258,28 @@ public abstract class CompositeHolderSet<T> implements ICustomHolderSet<T>
         
         return true;
     }
-}
\ No newline at end of file
+
+    /**
+     * Registry holders only equal themselves, so sets made of them can be tested by identity.
+     * Sets containing direct holders, which compare by value, are tested through the original set.
+     */
+    private record Membership<T>(Set<Holder<T>> set, @Nullable ReferenceOpenHashSet<Holder<T>> references)
+    {
+        private static <T> Membership<T> of(Set<Holder<T>> set)
+        {
+            ReferenceOpenHashSet<Holder<T>> references = new ReferenceOpenHashSet<>(set.size());
+            for (Holder<T> holder : set)
+            {
+                if (!(holder instanceof Holder.Reference<T>))
+                    return new Membership<>(set, null);
+                references.add(holder);
+            }
+            return new Membership<>(set, references);
+        }
+
+        private boolean contains(Holder<T> holder)
+        {
+            return this.references != null ? this.references.contains(holder) : this.set.contains(holder);
+        }
+    }
+}
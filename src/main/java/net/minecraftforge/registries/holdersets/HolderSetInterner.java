@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.registries.holdersets;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import net.minecraft.core.HolderSet;
+
+/**
+ * Shares one instance between custom holdersets that are decoded from identical definitions,
+ * such as the same composition of tags declared by several datapacks, so their cached contents are only built once.
+ * <p>
+ * Definitions are compared by the identity of their component holdersets, except for inline lists
+ * which are compared by the identity of their holders. As nested holdersets are decoded through here as well,
+ * identical nested definitions are already the same instance.
+ * <p>
+ * Both the definitions and the instances are only referenced weakly. The components of an instance keep it alive
+ * through their invalidation listeners, so a strongly held definition would keep every instance alive forever. This way
+ * an entry is dropped along with the registries it was decoded for.
+ */
+final class HolderSetInterner
+{
+    private static final Map<Key, Entry> INSTANCES = new HashMap<>();
+    private static final ReferenceQueue<Object> COLLECTED = new ReferenceQueue<>();
+
+    private HolderSetInterner() {}
+
+    /**
+     * @param type The type of holderset being created
+     * @param parts Everything the holderset is created from
+     * @param factory Creates the holderset if there is no identical one yet
+     */
+    @SuppressWarnings("unchecked")
+    static synchronized <S> S intern(Class<?> type, List<?> parts, Supplier<S> factory)
+    {
+        expunge();
+        Key key = Key.of(type, parts);
+        Entry entry = INSTANCES.get(key);
+        S instance = entry == null ? null : (S) entry.get();
+        if (instance == null)
+        {
+            instance = factory.get();
+            INSTANCES.put(key, new Entry(key, instance));
+        }
+        return instance;
+    }
+
+    /**
+     * @return The amount of instances that were not reclaimed yet
+     */
+    static synchronized int size()
+    {
+        expunge();
+        return INSTANCES.size();
+    }
+
+    private static void expunge()
+    {
+        Reference<?> ref;
+        while ((ref = COLLECTED.poll()) != null)
+        {
+            Entry entry = (Entry) ref;
+            // The key may have been reused by a newer instance already
+            INSTANCES.remove(entry.key, entry);
+        }
+    }
+
+    private static final class Entry extends WeakReference<Object>
+    {
+        private final Key key;
+
+        private Entry(Key key, Object instance)
+        {
+            super(instance, COLLECTED);
+            this.key = key;
+        }
+    }
+
+    /**
+     * A definition, with its parts flattened into weak references. The shape holds -1 for each plain part,
+     * and the amount of holders for each inline list.
+     */
+    private static final class Key
+    {
+        private final Class<?> type;
+        private final int[] shape;
+        private final WeakReference<?>[] parts;
+        private final int hash;
+
+        private Key(Class<?> type, int[] shape, WeakReference<?>[] parts, int hash)
+        {
+            this.type = type;
+            this.shape = shape;
+            this.parts = parts;
+            this.hash = hash;
+        }
+
+        private static Key of(Class<?> type, List<?> parts)
+        {
+            int[] shape = new int[parts.size()];
+            List<Object> flat = new ArrayList<>(parts.size());
+            for (int i = 0; i < shape.length; i++)
+            {
+                Object part = parts.get(i);
+                if (part instanceof HolderSet.Direct<?> direct)
+                {
+                    List<?> holders = direct.unwrap().right().orElseThrow();
+                    shape[i] = holders.size();
+                    flat.addAll(holders);
+                }
+                else
+                {
+                    shape[i] = -1;
+                    flat.add(part);
+                }
+            }
+
+            int hash = type.hashCode() * 31 + Arrays.hashCode(shape);
+            WeakReference<?>[] refs = new WeakReference<?>[flat.size()];
+            for (int i = 0; i < refs.length; i++)
+            {
+                Object part = flat.get(i);
+                hash = hash * 31 + System.identityHashCode(part);
+                refs[i] = new WeakReference<>(part);
+            }
+            return new Key(type, shape, refs, hash);
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Key other) || type != other.type || hash != other.hash || !Arrays.equals(shape, other.shape))
+                return false;
+            for (int i = 0; i < parts.length; i++)
+            {
+                Object part = parts[i].get();
+                // Definitions whose parts were collected can not be decoded again, so they never match
+                if (part == null || part != other.parts[i].get())
+                    return false;
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+}
@@ -49,7 +49,8 @@ public class NotHolderSet<T> implements ICustomHolderSet<T>
         return RecordCodecBuilder.<NotHolderSet<T>>create(builder -> builder.group(
                 RegistryOps.retrieveRegistryLookup(registryKey).forGetter(NotHolderSet::registryLookup),
                 HolderSetCodec.create(registryKey, holderCodec, forceList).fieldOf("value").forGetter(NotHolderSet::value)
-            ).apply(builder, NotHolderSet::new));
+            ).apply(builder, (registryLookup, value) ->
+                HolderSetInterner.<NotHolderSet<T>>intern(NotHolderSet.class, List.of(registryLookup, value), () -> new NotHolderSet<>(registryLookup, value))));
     }
 
     private final List<Runnable> owners = new ArrayList<>();
@@ -37,7 +37,7 @@ public class OrHolderSet<T> extends CompositeHolderSet<T>
     {
         return HolderSetCodec.create(registryKey, holderCodec, forceList)
             .listOf()
-            .xmap(OrHolderSet::new, CompositeHolderSet::homogenize)
+            .xmap(values -> HolderSetInterner.<OrHolderSet<T>>intern(OrHolderSet.class, values, () -> new OrHolderSet<>(values)), CompositeHolderSet::homogenize)
             .fieldOf("values")
             .codec();
     }
@@ -9,20 +9,25 @@ import com.google.common.base.Joiner;
 import com.mojang.logging.LogUtils;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import net.minecraft.FileUtil;
+import net.minecraft.Util;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.packs.AbstractPackResources;
 import net.minecraft.server.packs.PackType;
 import net.minecraft.server.packs.resources.IoSupplier;
-import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 
@@ -32,11 +37,16 @@ import org.slf4j.Logger;
  * This is primarily intended to support including optional resource packs inside a mod,
  * such as to have alternative textures to use along with Programmer Art, or optional
  * alternative recipes for compatibility ot to replace vanilla recipes.
+ * <p>
+ * The files of each pack type are indexed the first time that type is queried, after which resource lookups, listings
+ * and namespaces are answered from memory. The index is dropped when the pack is closed at the end of a reload, so
+ * changes on disk are picked up by the next reload.
  */
 public class PathPackResources extends AbstractPackResources
 {
     private static final Logger LOGGER = LogUtils.getLogger();
     private final Path source;
+    private final Map<PackType, Index> indexes = new ConcurrentHashMap<>();
 
     /**
      * Constructs a java.nio.Path-based resource pack.
@@ -92,50 +102,38 @@ public class PathPackResources extends AbstractPackResources
     public void listResources(PackType type, String namespace, String path, ResourceOutput resourceOutput)
     {
         FileUtil.decomposePath(path).get()
-                .ifLeft(parts -> net.minecraft.server.packs.PathPackResources.listPath(namespace, resolve(type.getDirectory(), namespace).toAbsolutePath(), parts, resourceOutput))
+                .ifLeft(parts -> getIndex(type).list(namespace, String.join("/", parts), (file) -> {
+                    ResourceLocation location = ResourceLocation.tryBuild(namespace, file);
+                    if (location == null)
+                        Util.logAndPauseIfInIde(String.format(Locale.ROOT, "Invalid path in pack: %s:%s, ignoring", namespace, file));
+                    else
+                        resourceOutput.accept(location, IoSupplier.create(resolve(type.getDirectory(), namespace, file)));
+                }))
                 .ifRight(dataResult -> LOGGER.error("Invalid path {}: {}", path, dataResult.message()));
     }
 
     @Override
     public Set<String> getNamespaces(PackType type)
     {
-        return getNamespacesFromDisk(type);
+        Index index = getIndex(type);
+        // We still have to add the resource namespace if client resources exist, as we load langs (which are in assets) on server
+        if (index.missing() && type == PackType.SERVER_DATA)
+            return this.getNamespaces(PackType.CLIENT_RESOURCES);
+        return index.namespaces();
     }
 
-    @NotNull
-    private Set<String> getNamespacesFromDisk(final PackType type)
+    @Override
+    public IoSupplier<InputStream> getResource(PackType type, ResourceLocation location)
     {
-        try
-        {
-            Path root = resolve(type.getDirectory());
-            try (Stream<Path> walker = Files.walk(root, 1))
-            {
-                return walker
-                        .filter(Files::isDirectory)
-                        .map(root::relativize)
-                        .filter(p -> p.getNameCount() > 0) // Skip the root entry
-                        .map(p -> p.toString().replaceAll("/$", "")) // Remove the trailing slash, if present
-                        .filter(s -> !s.isEmpty()) // Filter empty strings, otherwise empty strings default to minecraft namespace in ResourceLocations
-                        .collect(Collectors.toSet());
-            }
-        }
-        catch (IOException e)
-        {
-            if (type == PackType.SERVER_DATA) // We still have to add the resource namespace if client resources exist, as we load langs (which are in assets) on server
-            {
-                return this.getNamespaces(PackType.CLIENT_RESOURCES);
-            }
-            else
-            {
-                return Collections.emptySet();
-            }
-        }
+        PackType actualType = location.getPath().startsWith("lang/") ? PackType.CLIENT_RESOURCES : type;
+        if (!getIndex(actualType).contains(location.getNamespace(), location.getPath()))
+            return null;
+        return IoSupplier.create(resolve(getPathFromLocation(actualType, location)));
     }
 
-    @Override
-    public IoSupplier<InputStream> getResource(PackType type, ResourceLocation location)
+    private Index getIndex(PackType type)
     {
-        return this.getRootResource(getPathFromLocation(location.getPath().startsWith("lang/") ? PackType.CLIENT_RESOURCES : type, location));
+        return this.indexes.computeIfAbsent(type, t -> Index.build(resolve(t.getDirectory())));
     }
 
     private static String[] getPathFromLocation(PackType type, ResourceLocation location)
@@ -151,6 +149,7 @@ public class PathPackResources extends AbstractPackResources
     @Override
     public void close()
     {
+        this.indexes.clear();
     }
 
     @Override
@@ -158,4 +157,93 @@ public class PathPackResources extends AbstractPackResources
     {
         return String.format(Locale.ROOT, "%s: %s (%s)", getClass().getName(), this.packId(), getSource());
     }
+
+    /**
+     * The files of one pack type, as sorted paths relative to their namespace folder.
+     *
+     * @param missing If the folder of the pack type does not exist
+     */
+    private record Index(Map<String, String[]> files, Set<String> namespaces, boolean missing)
+    {
+        private static final Index MISSING = new Index(Map.of(), Set.of(), true);
+
+        private static Index build(Path root)
+        {
+            if (!Files.isDirectory(root))
+                return MISSING;
+
+            Map<String, List<String>> files = new HashMap<>();
+            try (Stream<Path> walker = Files.walk(root))
+            {
+                walker.forEach(path -> {
+                    Path relative = root.relativize(path);
+                    if (relative.getNameCount() == 0)
+                        return; // Skip the root entry
+                    String namespace = relative.getName(0).toString().replaceAll("/$", ""); // Remove the trailing slash, if present
+                    if (namespace.isEmpty()) // Otherwise empty strings default to minecraft namespace in ResourceLocations
+                        return;
+                    if (relative.getNameCount() == 1)
+                    {
+                        if (Files.isDirectory(path))
+                            files.computeIfAbsent(namespace, k -> new ArrayList<>());
+                    }
+                    else if (Files.isRegularFile(path))
+                    {
+                        StringBuilder file = new StringBuilder();
+                        for (int i = 1; i < relative.getNameCount(); i++)
+                        {
+                            if (i > 1)
+                                file.append('/');
+                            file.append(relative.getName(i));
+                        }
+                        files.computeIfAbsent(namespace, k -> new ArrayList<>()).add(file.toString());
+                    }
+                });
+            }
+            catch (IOException | UncheckedIOException e)
+            {
+                LOGGER.error("Failed to index pack files in {}", root, e);
+                return MISSING;
+            }
+
+            Map<String, String[]> sorted = new HashMap<>(files.size());
+            files.forEach((namespace, list) -> {
+                String[] array = list.toArray(new String[0]);
+                Arrays.sort(array);
+                sorted.put(namespace, array);
+            });
+            return new Index(Map.copyOf(sorted), Set.copyOf(sorted.keySet()), false);
+        }
+
+        private boolean contains(String namespace, String file)
+        {
+            String[] namespaceFiles = files.get(namespace);
+            return namespaceFiles != null && Arrays.binarySearch(namespaceFiles, file) >= 0;
+        }
+
+        /**
+         * Visits the file at the given path, or all files below it if it is a folder.
+         */
+        private void list(String namespace, String path, Consumer<String> output)
+        {
+            String[] namespaceFiles = files.get(namespace);
+            if (namespaceFiles == null)
+                return;
+
+            String prefix = path.isEmpty() ? "" : path + "/";
+            int start = Arrays.binarySearch(namespaceFiles, path);
+            if (start >= 0)
+                output.accept(namespaceFiles[start++]); // The path itself is a file
+            else
+                start = -start - 1;
+            // Sorting keeps every file below the folder in one run
+            for (int i = start; i < namespaceFiles.length; i++)
+            {
+                if (namespaceFiles[i].startsWith(prefix))
+                    output.accept(namespaceFiles[i]);
+                else if (namespaceFiles[i].compareTo(prefix) > 0)
+                    break;
+            }
+        }
+    }
 }
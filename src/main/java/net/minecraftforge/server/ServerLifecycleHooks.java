@@ -12,11 +12,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.Consumer;
 
+import net.minecraft.Util;
 import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
 import net.minecraft.core.RegistryAccess;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.gametest.framework.GameTestServer;
@@ -72,6 +78,8 @@ public class ServerLifecycleHooks
 {
     private static final Logger LOGGER = LogManager.getLogger();
     private static final Marker SERVERHOOKS = MarkerManager.getMarker("SERVERHOOKS");
+    /** Modifiers spending at least this long across all biomes or structures are logged as warnings */
+    private static final long SLOW_MODIFIER_NANOS = TimeUnit.SECONDS.toNanos(1);
     private static final LevelResource SERVERCONFIG = new LevelResource("serverconfig");
     private static volatile CountDownLatch exitLatch = null;
     private static MinecraftServer currentServer;
@@ -86,7 +94,7 @@ public class ServerLifecycleHooks
     public static boolean handleServerAboutToStart(final MinecraftServer server)
     {
         currentServer = server;
-        currentServer.getStatus().setForgeData(new ServerStatusPing()); //gathers NetworkRegistry data
+        currentServer.getStatus().setForgeData(ServerStatusPing.getCurrent()); //gathers NetworkRegistry data
         // on the dedi server we need to force the stuff to setup properly
         LogicalSidedProvider.setServer(()->server);
         ConfigTracker.INSTANCE.loadConfigs(ModConfig.Type.SERVER, getServerConfigPath(server));
@@ -217,24 +225,69 @@ public class ServerLifecycleHooks
         final RegistryAccess registries = server.registryAccess();
 
         // The order of holders() is the order modifiers were loaded in.
-        final List<BiomeModifier> biomeModifiers = registries.registryOrThrow(ForgeRegistries.Keys.BIOME_MODIFIERS)
+        final List<Holder.Reference<BiomeModifier>> biomeModifierHolders = registries.registryOrThrow(ForgeRegistries.Keys.BIOME_MODIFIERS)
             .holders()
-            .map(Holder::value)
             .toList();
-        final List<StructureModifier> structureModifiers = registries.registryOrThrow(Keys.STRUCTURE_MODIFIERS)
+        final List<BiomeModifier> biomeModifiers = biomeModifierHolders.stream().map(Holder::value).toList();
+        final List<Holder.Reference<StructureModifier>> structureModifierHolders = registries.registryOrThrow(Keys.STRUCTURE_MODIFIERS)
               .holders()
-              .map(Holder::value)
               .toList();
+        final List<StructureModifier> structureModifiers = structureModifierHolders.stream().map(Holder::value).toList();
 
-        // Apply sorted biome modifiers to each biome.
-        registries.registryOrThrow(Registries.BIOME).holders().forEach(biomeHolder ->
+        // Apply sorted biome modifiers to each biome. Biomes are modified independently of each other, so they are done in parallel
+        // if every modifier allows it.
+        final AtomicLongArray biomeTimings = new AtomicLongArray(biomeModifiers.size());
+        long start = System.nanoTime();
+        forEachHolder(registries.registryOrThrow(Registries.BIOME), biomeModifiers.stream().allMatch(BiomeModifier::isThreadSafe), biomeHolder ->
         {
-            biomeHolder.value().modifiableBiomeInfo().applyBiomeModifiers(biomeHolder, biomeModifiers);
+            biomeHolder.value().modifiableBiomeInfo().applyBiomeModifiers(biomeHolder, biomeModifiers, biomeTimings);
         });
+        logModifierTimings("biome", biomeModifierHolders, biomeTimings, System.nanoTime() - start);
+
         // Apply sorted structure modifiers to each structure.
-        registries.registryOrThrow(Registries.STRUCTURE).holders().forEach(structureHolder ->
+        final AtomicLongArray structureTimings = new AtomicLongArray(structureModifiers.size());
+        start = System.nanoTime();
+        forEachHolder(registries.registryOrThrow(Registries.STRUCTURE), structureModifiers.stream().allMatch(StructureModifier::isThreadSafe), structureHolder ->
         {
-            structureHolder.value().modifiableStructureInfo().applyStructureModifiers(structureHolder, structureModifiers);
+            structureHolder.value().modifiableStructureInfo().applyStructureModifiers(structureHolder, structureModifiers, structureTimings);
         });
+        logModifierTimings("structure", structureModifierHolders, structureTimings, System.nanoTime() - start);
+    }
+
+    private static <T> void forEachHolder(final Registry<T> registry, final boolean parallel, final Consumer<Holder.Reference<T>> action)
+    {
+        if (!parallel)
+        {
+            registry.holders().forEach(action);
+            return;
+        }
+
+        final CompletableFuture<?>[] futures = registry.holders()
+            .map(holder -> CompletableFuture.runAsync(() -> action.accept(holder), Util.backgroundExecutor()))
+            .toArray(CompletableFuture[]::new);
+        try
+        {
+            CompletableFuture.allOf(futures).join();
+        }
+        catch (CompletionException e)
+        {
+            // Rethrow the modifier's own exception so the crash report points at it
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw e;
+        }
+    }
+
+    private static void logModifierTimings(final String type, final List<? extends Holder.Reference<?>> modifiers, final AtomicLongArray timings, final long totalNanos)
+    {
+        LOGGER.debug(SERVERHOOKS, "Applied {} {} modifiers in {} ms", modifiers.size(), type, TimeUnit.NANOSECONDS.toMillis(totalNanos));
+        for (int i = 0; i < modifiers.size(); i++)
+        {
+            final long nanos = timings.get(i);
+            if (nanos >= SLOW_MODIFIER_NANOS)
+                LOGGER.warn(SERVERHOOKS, "The {} modifier {} took {} ms", type, modifiers.get(i).key().location(), TimeUnit.NANOSECONDS.toMillis(nanos));
+            else
+                LOGGER.debug(SERVERHOOKS, "The {} modifier {} took {} ms", type, modifiers.get(i).key().location(), TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
     }
 }
@@ -6,63 +6,130 @@
 package net.minecraftforge.server.command;
 
 import java.util.ArrayDeque;
+import java.util.Comparator;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Object2LongLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import net.minecraft.Util;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerChunkCache;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.chunk.ChunkStatus;
-import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraftforge.common.WorldWorkerManager;
 import net.minecraftforge.common.WorldWorkerManager.IWorker;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
+/**
+ * Generates chunks in a spiral around a starting chunk, keeping several chunk futures in flight
+ * in the chunk pipeline at once instead of generating one chunk at a time on the server thread.
+ * <p>
+ * Each chunk is held by a ticket until its future completes, and no new chunks are requested while the worker
+ * holds too many of those tickets. Progress is stored in the level's saved data, so an interrupted generation
+ * resumes where it left off once the server starts again. Chunks that fail to generate are logged and keep the
+ * stored progress from moving past them, so they are retried the next time the task resumes.
+ */
 public class ChunkGenWorker implements IWorker
 {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final TicketType<ChunkPos> GENERATE = TicketType.create("forge:generate", Comparator.comparingLong(ChunkPos::toLong));
+    private static final int DEFAULT_MAX_IN_FLIGHT = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
     private final CommandSourceStack listener;
     protected final BlockPos start;
     protected final int total;
     private final ServerLevel dim;
-    private final Queue<BlockPos> queue;
+    private final Spiral spiral;
     private final int notificationFrequency;
+    private final int maxInFlight;
+    // The chunks this worker holds a ticket for, by spiral index
+    private final Long2ObjectMap<ChunkPos> inFlight = new Long2ObjectOpenHashMap<>();
+    private final Queue<Long> completed = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> failed = new ConcurrentLinkedQueue<>();
+    private final LongSet completedAhead = new LongOpenHashSet();
+    private final Progress savedProgress;
+    private final String progressKey;
+    private long progress;
     private int lastNotification = 0;
     private long lastNotifcationTime = 0;
     private int genned = 0;
-    private Boolean keepingLoaded;
+    private int failures = 0;
+    private boolean finished;
 
     public ChunkGenWorker(CommandSourceStack listener, BlockPos start, int total, ServerLevel dim, int interval)
+    {
+        this(listener, start, total, dim, interval, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * @param maxInFlight The maximum amount of chunks this worker holds a ticket for at the same time
+     */
+    public ChunkGenWorker(CommandSourceStack listener, BlockPos start, int total, ServerLevel dim, int interval, int maxInFlight)
     {
         this.listener = listener;
         this.start = start;
         this.total = total;
         this.dim  = dim;
-        this.queue = buildQueue();
         this.notificationFrequency = interval != -1 ? interval : Math.max(total / 20, 100); //Every 5% or every 100, whichever is more.
         this.lastNotifcationTime = System.currentTimeMillis(); //We also notify at least once every 60 seconds, to show we haven't froze.
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.savedProgress = Progress.get(dim);
+        this.progressKey = start.getX() + "," + start.getZ() + "," + total;
+        this.progress = Math.min(total, this.savedProgress.tasks.getLong(this.progressKey));
+        this.spiral = new Spiral(start.getX(), start.getZ(), total);
+        this.spiral.skip(this.progress);
+        this.savedProgress.tasks.putLong(this.progressKey, this.progress);
+        this.savedProgress.setDirty();
+    }
+
+    /**
+     * Resumes every generation task that was still running when the levels of this server were last saved.
+     */
+    public static void resumeSaved(MinecraftServer server)
+    {
+        for (ServerLevel level : server.getAllLevels())
+        {
+            Progress progress = Progress.get(level);
+            for (String key : progress.tasks.keySet().toArray(new String[0]))
+            {
+                String[] parts = key.split(",");
+                BlockPos start = new BlockPos(Integer.parseInt(parts[0]), 0, Integer.parseInt(parts[1]));
+                CommandSourceStack source = server.createCommandSourceStack();
+                ChunkGenWorker worker = new ChunkGenWorker(source, start, Integer.parseInt(parts[2]), level, -1);
+                source.sendSuccess(worker.getStartMessage(source), true);
+                WorldWorkerManager.addWorker(worker);
+            }
+        }
     }
 
+    /**
+     * @deprecated The spiral is now walked lazily, this materializes the whole spiral and is no longer used.
+     */
+    @Deprecated(since = "1.19.3", forRemoval = true)
     protected Queue<BlockPos> buildQueue()
     {
         Queue<BlockPos> ret = new ArrayDeque<BlockPos>();
-        ret.add(start);
-
-        //This *should* spiral outwards, starting on right side, down, left, up, right, but hey we'll see!
-        int radius = 1;
-        while (ret.size() < total)
+        Spiral spiral = new Spiral(start.getX(), start.getZ(), total);
+        while (spiral.hasNext())
         {
-            for (int q = -radius + 1; q <= radius && ret.size() < total; q++)
-                ret.add(start.offset(radius, 0, q));
-
-            for (int q = radius - 1; q >= -radius && ret.size() < total; q--)
-                ret.add(start.offset(q, 0, radius));
-
-            for (int q = radius - 1; q >= -radius && ret.size() < total; q--)
-                ret.add(start.offset(-radius, 0, q));
-
-            for (int q = -radius + 1; q <= radius && ret.size() < total; q++)
-                ret.add(start.offset(q, 0, -radius));
-
-            radius++;
+            ChunkPos pos = spiral.next();
+            ret.add(new BlockPos(pos.x, 0, pos.z));
         }
         return ret;
     }
@@ -75,64 +142,206 @@ public class ChunkGenWorker implements IWorker
     @Override
     public boolean hasWork()
     {
-        return queue.size() > 0;
+        return !finished;
     }
 
     @Override
     public boolean doWork()
     {
-        /* TODO: Check how many things are pending save, and slow down world gen if to many
-        AnvilChunkLoader loader = dim.getChunkProvider().chunkLoader instanceof AnvilChunkLoader ? (AnvilChunkLoader)world.getChunkProvider().chunkLoader : null;
-        if (loader != null && loader.getPendingSaveCount() > 100)
+        ServerChunkCache chunkSource = dim.getChunkSource();
+        drainCompleted(chunkSource);
+
+        if (progress >= total)
         {
+            finished = true;
+            savedProgress.tasks.removeLong(progressKey);
+            savedProgress.setDirty();
+            listener.sendSuccess(Component.translatable("commands.forge.gen.complete", genned, total, dim.dimension().location()), true);
+            return false;
+        }
 
-            if (lastNotifcationTime < System.currentTimeMillis() - 10*1000)
-            {
-                listener.sendFeedback(new TranslationTextComponent("commands.forge.gen.progress", total - queue.size(), total), true);
-                lastNotifcationTime = System.currentTimeMillis();
-            }
+        if (!spiral.hasNext() && inFlight.isEmpty())
+        {
+            // Only failed chunks are left, keep the stored progress so the task retries them once the server restarts
+            finished = true;
+            listener.sendFailure(Component.translatable("commands.forge.gen.failed", genned - failures, total, dim.dimension().location(), failures));
             return false;
         }
-        */
 
-        BlockPos next = queue.poll();
+        // Wait for the next tick while the worker holds as many tickets as it may
+        if (!spiral.hasNext() || inFlight.size() >= maxInFlight)
+            return false;
+
+        long index = spiral.index();
+        ChunkPos pos = spiral.next();
 
-        if (next != null)
+        if (++lastNotification >= notificationFrequency || lastNotifcationTime < System.currentTimeMillis() - 60*1000)
         {
-            // While we work we don't want to cause world load spam so pause unloading the world.
-            /* TODO: Readd if/when we introduce world unloading, or get Mojang to do it.
-            if (keepingLoaded == null)
-                keepingLoaded = DimensionManager.keepLoaded(dim, true);
-            */
+            listener.sendSuccess(Component.translatable("commands.forge.gen.progress", progress, total), true);
+            lastNotification = 0;
+            lastNotifcationTime = System.currentTimeMillis();
+        }
 
-            if (++lastNotification >= notificationFrequency || lastNotifcationTime < System.currentTimeMillis() - 60*1000)
-            {
-                listener.sendSuccess(Component.translatable("commands.forge.gen.progress", total - queue.size(), total), true);
-                lastNotification = 0;
-                lastNotifcationTime = System.currentTimeMillis();
-            }
+        if (dim.hasChunk(pos.x, pos.z)) //Chunk is already loaded, and thus generated
+        {
+            markDone(index);
+            return true;
+        }
+
+        // Our own ticket keeps the chunk at full status until its future is done, the request itself is made off-thread
+        // so the server thread does not block on it.
+        chunkSource.addRegionTicket(GENERATE, pos, 0, pos);
+        inFlight.put(index, pos);
+        genned++; //There isn't a way to check if the chunk is actually created just if it was loaded
+        CompletableFuture.supplyAsync(() -> chunkSource.getChunkFuture(pos.x, pos.z, ChunkStatus.FULL, true), Util.backgroundExecutor())
+                .thenCompose(Function.identity())
+                .whenComplete((result, error) -> {
+                    if (error != null || result.right().isPresent())
+                    {
+                        LOGGER.warn("Failed to generate chunk {} in {}: {}", pos, dim.dimension().location(), error != null ? error : result.right().get());
+                        failed.add(index);
+                    }
+                    else
+                    {
+                        completed.add(index);
+                    }
+                });
+        return true;
+    }
+
+    private void drainCompleted(ServerChunkCache chunkSource)
+    {
+        Long index;
+        while ((index = completed.poll()) != null)
+        {
+            releaseTicket(chunkSource, index);
+            markDone(index);
+        }
+        while ((index = failed.poll()) != null)
+        {
+            releaseTicket(chunkSource, index);
+            failures++;
+        }
+    }
+
+    private void releaseTicket(ServerChunkCache chunkSource, long index)
+    {
+        ChunkPos pos = inFlight.remove(index);
+        if (pos != null)
+            chunkSource.removeRegionTicket(GENERATE, pos, 0, pos);
+    }
+
+    private void markDone(long index)
+    {
+        if (index != progress)
+        {
+            completedAhead.add(index);
+            return;
+        }
+        progress++;
+        while (completedAhead.remove(progress))
+            progress++;
+        savedProgress.tasks.putLong(progressKey, progress);
+        savedProgress.setDirty();
+    }
 
-            int x = next.getX();
-            int z = next.getZ();
+    /**
+     * Walks the chunk positions of a square spiral lazily, starting at the center and then going
+     * outwards on the right side, down, left, up and right again.
+     */
+    private static final class Spiral
+    {
+        private final int centerX;
+        private final int centerZ;
+        private final long total;
+        private long index;
+        private int radius;
+        private int leg;
+        private int step;
+
+        private Spiral(int centerX, int centerZ, long total)
+        {
+            this.centerX = centerX;
+            this.centerZ = centerZ;
+            this.total = total;
+        }
+
+        private boolean hasNext()
+        {
+            return index < total;
+        }
+
+        private long index()
+        {
+            return index;
+        }
 
-            if (!dim.hasChunk(x, z)) { //Chunk is unloaded
-                ChunkAccess chunk = dim.getChunk(x, z, ChunkStatus.EMPTY, true);
-                if (!chunk.getStatus().isOrAfter(ChunkStatus.FULL)) {
-                    chunk = dim.getChunk(x, z, ChunkStatus.FULL);
-                    genned++; //There isn't a way to check if the chunk is actually created just if it was loaded
+        private void skip(long count)
+        {
+            for (long x = 0; x < count && hasNext(); x++)
+                next();
+        }
+
+        private ChunkPos next()
+        {
+            ChunkPos ret;
+            if (radius == 0)
+            {
+                ret = new ChunkPos(centerX, centerZ);
+                radius = 1;
+            }
+            else
+            {
+                // Each leg of a ring has 2 * radius positions
+                int q = step - radius + 1;
+                ret = switch (leg)
+                {
+                    case 0 -> new ChunkPos(centerX + radius, centerZ + q);
+                    case 1 -> new ChunkPos(centerX - q, centerZ + radius);
+                    case 2 -> new ChunkPos(centerX - radius, centerZ - q);
+                    default -> new ChunkPos(centerX + q, centerZ - radius);
+                };
+                if (++step == 2 * radius)
+                {
+                    step = 0;
+                    if (++leg == 4)
+                    {
+                        leg = 0;
+                        radius++;
+                    }
                 }
             }
+            index++;
+            return ret;
         }
+    }
+
+    private static final class Progress extends SavedData
+    {
+        private static final String NAME = "forge_chunk_generation";
+        private final Object2LongMap<String> tasks = new Object2LongLinkedOpenHashMap<>();
 
-        if (queue.size() == 0)
+        private static Progress get(ServerLevel level)
         {
-            listener.sendSuccess(Component.translatable("commands.forge.gen.complete", genned, total, dim.dimension().location()), true);
-            /* TODO: Readd if/when we introduce world unloading, or get Mojang to do it.
-            if (keepingLoaded != null && !keepingLoaded)
-                DimensionManager.keepLoaded(dim, false);
-            */
-            return false;
+            return level.getDataStorage().computeIfAbsent(Progress::load, Progress::new, NAME);
+        }
+
+        private static Progress load(CompoundTag tag)
+        {
+            Progress progress = new Progress();
+            CompoundTag tasks = tag.getCompound("Tasks");
+            for (String key : tasks.getAllKeys())
+                progress.tasks.put(key, tasks.getLong(key));
+            return progress;
+        }
+
+        @Override
+        public CompoundTag save(CompoundTag tag)
+        {
+            CompoundTag tasks = new CompoundTag();
+            this.tasks.forEach(tasks::putLong);
+            tag.put("Tasks", tasks);
+            return tag;
         }
-        return true;
     }
 }
@@ -23,6 +23,8 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
 import net.minecraftforge.registries.ForgeRegistries;
 import net.minecraftforge.server.timings.ForgeTimings;
+import net.minecraftforge.server.timings.TickHistogram;
+import net.minecraftforge.server.timings.TickSampler;
 import net.minecraftforge.server.timings.TimeTracker;
 
 class TrackCommand
@@ -36,6 +38,7 @@ class TrackCommand
             .then(ResetTrackingCommand.register())
             .then(TrackResultsEntity.register())
             .then(TrackResultsBlockEntity.register())
+            .then(SamplerCommand.register())
             .then(StartTrackingCommand.register());
     }
 
@@ -168,4 +171,74 @@ class TrackCommand
             );
         }
     }
+
+    private static class SamplerCommand
+    {
+        static ArgumentBuilder<CommandSourceStack, ?> register()
+        {
+            return Commands.literal("sampler")
+                .then(Commands.literal("start")
+                    .requires(cs->cs.hasPermission(2)) //permission
+                    .then(Commands.argument("interval", IntegerArgumentType.integer(1))
+                        .executes(ctx -> {
+                            int interval = IntegerArgumentType.getInteger(ctx, "interval");
+                            TickSampler.setInterval(interval);
+                            ctx.getSource().sendSuccess(Component.translatable("commands.forge.tracking.sampler.enabled", interval), true);
+                            return 0;
+                        })
+                    )
+                )
+                .then(Commands.literal("stop")
+                    .requires(cs->cs.hasPermission(2)) //permission
+                    .executes(ctx -> {
+                        TickSampler.setInterval(0);
+                        ctx.getSource().sendSuccess(Component.translatable("commands.forge.tracking.sampler.disabled"), true);
+                        return 0;
+                    })
+                )
+                .then(Commands.literal("reset")
+                    .requires(cs->cs.hasPermission(2)) //permission
+                    .executes(ctx -> {
+                        TickSampler.reset();
+                        ctx.getSource().sendSuccess(Component.translatable("commands.forge.tracking.sampler.reset"), true);
+                        return 0;
+                    })
+                )
+                .then(Commands.literal("te").executes(ctx -> execute(ctx.getSource(), true, snapshot -> snapshot.blockEntities(),
+                    key -> String.valueOf(ForgeRegistries.BLOCK_ENTITY_TYPES.getKey(key)))))
+                .then(Commands.literal("entity").executes(ctx -> execute(ctx.getSource(), true, snapshot -> snapshot.entities(),
+                    key -> String.valueOf(ForgeRegistries.ENTITY_TYPES.getKey(key)))))
+                .then(Commands.literal("dimension").executes(ctx -> execute(ctx.getSource(), false, snapshot -> snapshot.dimensions(),
+                    key -> key.location().toString())))
+                .then(Commands.literal("chunk").executes(ctx -> execute(ctx.getSource(), true, snapshot -> snapshot.chunks(),
+                    key -> key.dimension().location() + " " + key.pos())));
+        }
+
+        private static <K> int execute(CommandSourceStack source, boolean sampled, Function<TickSampler.Snapshot, List<TickSampler.Entry<K>>> entries, Function<K, String> keyName)
+        {
+            TickSampler.Snapshot snapshot = TickSampler.snapshot();
+            // Dimensions record every tick, everything else is scaled up by the sampling interval
+            int interval = sampled ? snapshot.interval() : 1;
+            List<TickSampler.Entry<K>> sorted = new ArrayList<>(entries.apply(snapshot));
+            if (sorted.isEmpty())
+            {
+                source.sendSuccess(Component.translatable("commands.forge.tracking.no_data"), true);
+                return 0;
+            }
+            sorted.sort(Comparator.comparingLong((TickSampler.Entry<K> e) -> e.estimateTotal(interval)).reversed());
+            sorted.stream().limit(10).forEach(entry -> {
+                TickHistogram histogram = entry.histogram();
+                source.sendSuccess(Component.translatable("commands.forge.tracking.sampler.entry", keyName.apply(entry.key()), histogram.getCount(),
+                        formatNanos(histogram.getMean()), formatNanos(histogram.getValueAtPercentile(99)), formatNanos(histogram.getMax()),
+                        formatNanos(entry.estimateTotal(interval))), true);
+            });
+            return 0;
+        }
+
+        private static String formatNanos(double nanos)
+        {
+            double micros = nanos / 1000;
+            return micros > 1000 ? TIME_FORMAT.format(micros / 1000) + "ms" : TIME_FORMAT.format(micros) + "\u03bcs";
+        }
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.server.timings;
+
+import java.util.Arrays;
+
+/**
+ * A fixed size log-linear histogram of durations in nanoseconds, similar in spirit to HdrHistogram.
+ * Every power of two is split into {@value #SUB_BUCKETS} linear sub-buckets, so recorded values are
+ * kept with a relative error below 12.5%, and recording never allocates.
+ * Values above roughly 68 seconds are clamped into the last bucket.
+ */
+public final class TickHistogram
+{
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 36;
+    private static final int BUCKETS = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final long[] counts;
+    private long count;
+    private long total;
+    private long max;
+
+    public TickHistogram()
+    {
+        this.counts = new long[BUCKETS];
+    }
+
+    private TickHistogram(TickHistogram other)
+    {
+        this.counts = other.counts.clone();
+        this.count = other.count;
+        this.total = other.total;
+        this.max = other.max;
+    }
+
+    public void record(long nanos)
+    {
+        if (nanos < 0)
+            nanos = 0;
+        this.counts[bucketOf(nanos)]++;
+        this.count++;
+        this.total += nanos;
+        if (nanos > this.max)
+            this.max = nanos;
+    }
+
+    public void reset()
+    {
+        Arrays.fill(this.counts, 0);
+        this.count = 0;
+        this.total = 0;
+        this.max = 0;
+    }
+
+    /**
+     * @return An independent copy of this histogram
+     */
+    public TickHistogram copy()
+    {
+        return new TickHistogram(this);
+    }
+
+    public long getCount()
+    {
+        return this.count;
+    }
+
+    public long getTotal()
+    {
+        return this.total;
+    }
+
+    public long getMax()
+    {
+        return this.max;
+    }
+
+    public double getMean()
+    {
+        return this.count == 0 ? 0 : (double) this.total / this.count;
+    }
+
+    /**
+     * @param percentile The percentile to query, between 0 and 100
+     * @return The lower bound of the bucket holding the requested percentile, in nanoseconds
+     */
+    public long getValueAtPercentile(double percentile)
+    {
+        if (this.count == 0)
+            return 0;
+        long target = Math.max(1, (long) Math.ceil(this.count * Math.min(100, Math.max(0, percentile)) / 100));
+        long seen = 0;
+        for (int x = 0; x < BUCKETS; x++)
+        {
+            seen += this.counts[x];
+            if (seen >= target)
+                return Math.min(lowerBoundOf(x), this.max);
+        }
+        return this.max;
+    }
+
+    private static int bucketOf(long value)
+    {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        if (magnitude > MAX_MAGNITUDE)
+            return BUCKETS - 1;
+        int sub = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long lowerBoundOf(int bucket)
+    {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        int magnitude = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub) << (magnitude - SUB_BUCKET_BITS);
+    }
+}
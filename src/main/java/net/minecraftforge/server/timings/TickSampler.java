@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.server.timings;
+
+import com.google.common.collect.ImmutableList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Always-on, low overhead sampling of server tick times.
+ * <p>
+ * While enabled, roughly one in {@link #getInterval() interval} block entity and entity ticks is timed through
+ * {@link TimeTracker} and aggregated into {@link TickHistogram}s per block entity type, entity type and chunk.
+ * Every level tick is recorded per dimension. The number of tracked keys is bounded, ticks of keys beyond that bound are
+ * aggregated into a shared overflow histogram, so memory use stays fixed no matter how long the sampler runs.
+ * When disabled, the cost is a single field check per tick.
+ * <p>
+ * Recording and {@link #snapshot() snapshots} must happen on the server thread.
+ */
+public final class TickSampler
+{
+    private static final int MAX_TYPES = 1024;
+    private static final int MAX_DIMENSIONS = 256;
+    private static final int MAX_CHUNKS = 2048;
+
+    private static volatile boolean enabled;
+    private static int interval;
+    private static int countdown;
+    private static int seed = 0x9E3779B9;
+
+    private static final HistogramTable<BlockEntityType<?>> BLOCK_ENTITIES = new HistogramTable<>(MAX_TYPES);
+    private static final HistogramTable<EntityType<?>> ENTITIES = new HistogramTable<>(MAX_TYPES);
+    private static final HistogramTable<ResourceKey<Level>> DIMENSIONS = new HistogramTable<>(MAX_DIMENSIONS);
+    private static final Map<ResourceKey<Level>, Long2ObjectMap<TickHistogram>> CHUNKS = new IdentityHashMap<>();
+    private static final TickHistogram CHUNK_OVERFLOW = new TickHistogram();
+    private static int chunkCount;
+
+    private TickSampler() {}
+
+    /**
+     * Enables sampling, timing on average one in {@code interval} ticked objects.
+     *
+     * @param interval The average sampling interval, a value of 0 or less disables sampling
+     */
+    public static void setInterval(int interval)
+    {
+        TickSampler.interval = Math.max(0, interval);
+        TickSampler.countdown = TickSampler.interval;
+        TickSampler.enabled = TickSampler.interval > 0;
+    }
+
+    public static int getInterval()
+    {
+        return interval;
+    }
+
+    public static boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Clears all collected samples, keeping the sampler enabled if it was.
+     */
+    public static void reset()
+    {
+        BLOCK_ENTITIES.clear();
+        ENTITIES.clear();
+        DIMENSIONS.clear();
+        CHUNKS.clear();
+        CHUNK_OVERFLOW.reset();
+        chunkCount = 0;
+    }
+
+    /**
+     * Decides whether the next ticked object should be timed. The gaps between samples are randomized around the
+     * configured interval, so objects ticked in a fixed order are not always sampled at the same position.
+     */
+    static boolean shouldSample()
+    {
+        if (!enabled || --countdown > 0)
+            return false;
+        // xorshift, cheap and good enough to break up aliasing with the tick order
+        int x = seed;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        seed = x;
+        countdown = 1 + Math.floorMod(x, 2 * interval);
+        return true;
+    }
+
+    static void recordBlockEntity(BlockEntity blockEntity, long nanos)
+    {
+        Level level = blockEntity.getLevel();
+        if (level == null)
+            return;
+        BLOCK_ENTITIES.record(blockEntity.getType(), nanos);
+        BlockPos pos = blockEntity.getBlockPos();
+        recordChunk(level.dimension(), ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4), nanos);
+    }
+
+    static void recordEntity(Entity entity, long nanos)
+    {
+        ENTITIES.record(entity.getType(), nanos);
+        recordChunk(entity.level.dimension(), entity.chunkPosition().toLong(), nanos);
+    }
+
+    /**
+     * Records the time spent ticking a whole level. Called once per level and tick, regardless of the sampling interval.
+     */
+    public static void recordLevel(ResourceKey<Level> dimension, long nanos)
+    {
+        if (enabled)
+            DIMENSIONS.record(dimension, nanos);
+    }
+
+    private static void recordChunk(ResourceKey<Level> dimension, long chunk, long nanos)
+    {
+        Long2ObjectMap<TickHistogram> chunks = CHUNKS.get(dimension);
+        if (chunks == null)
+            CHUNKS.put(dimension, chunks = new Long2ObjectOpenHashMap<>());
+        TickHistogram histogram = chunks.get(chunk);
+        if (histogram == null)
+        {
+            if (chunkCount >= MAX_CHUNKS)
+            {
+                CHUNK_OVERFLOW.record(nanos);
+                return;
+            }
+            chunks.put(chunk, histogram = new TickHistogram());
+            chunkCount++;
+        }
+        histogram.record(nanos);
+    }
+
+    /**
+     * @return An independent copy of everything sampled so far
+     */
+    public static Snapshot snapshot()
+    {
+        ImmutableList.Builder<Entry<ChunkKey>> chunks = ImmutableList.builder();
+        CHUNKS.forEach((dimension, map) -> map.long2ObjectEntrySet().forEach(e ->
+            chunks.add(new Entry<>(new ChunkKey(dimension, new ChunkPos(e.getLongKey())), e.getValue().copy()))
+        ));
+        return new Snapshot(interval, BLOCK_ENTITIES.snapshot(), BLOCK_ENTITIES.overflow.copy(), ENTITIES.snapshot(), ENTITIES.overflow.copy(),
+                DIMENSIONS.snapshot(), chunks.build(), CHUNK_OVERFLOW.copy());
+    }
+
+    /**
+     * The samples of a single key.
+     *
+     * @param key The sampled key
+     * @param histogram The tick times recorded for it, in nanoseconds
+     */
+    public record Entry<K>(K key, TickHistogram histogram)
+    {
+        /**
+         * @param interval The sampling interval the histogram was recorded with
+         * @return An estimate of the total time spent ticking this key, in nanoseconds
+         */
+        public long estimateTotal(int interval)
+        {
+            return this.histogram.getTotal() * Math.max(1, interval);
+        }
+    }
+
+    public record ChunkKey(ResourceKey<Level> dimension, ChunkPos pos) {}
+
+    /**
+     * A copy of all sampled data. Histograms of ticks that exceeded the key limits are kept in the overflow fields.
+     * Dimension entries are not sampled, they hold every level tick.
+     */
+    public record Snapshot(int interval,
+                           ImmutableList<Entry<BlockEntityType<?>>> blockEntities, TickHistogram blockEntityOverflow,
+                           ImmutableList<Entry<EntityType<?>>> entities, TickHistogram entityOverflow,
+                           ImmutableList<Entry<ResourceKey<Level>>> dimensions,
+                           ImmutableList<Entry<ChunkKey>> chunks, TickHistogram chunkOverflow) {}
+
+    private static final class HistogramTable<K>
+    {
+        private final int limit;
+        private final Map<K, TickHistogram> histograms = new IdentityHashMap<>();
+        private final TickHistogram overflow = new TickHistogram();
+
+        private HistogramTable(int limit)
+        {
+            this.limit = limit;
+        }
+
+        private void record(K key, long nanos)
+        {
+            TickHistogram histogram = histograms.get(key);
+            if (histogram == null)
+            {
+                if (histograms.size() >= limit)
+                {
+                    overflow.record(nanos);
+                    return;
+                }
+                histograms.put(key, histogram = new TickHistogram());
+            }
+            histogram.record(nanos);
+        }
+
+        private void clear()
+        {
+            histograms.clear();
+            overflow.reset();
+        }
+
+        private ImmutableList<Entry<K>> snapshot()
+        {
+            ImmutableList.Builder<Entry<K>> builder = ImmutableList.builder();
+            histograms.forEach((key, histogram) -> builder.add(new Entry<>(key, histogram.copy())));
+            return builder.build();
+        }
+    }
+}
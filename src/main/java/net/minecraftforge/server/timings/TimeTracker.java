@@ -5,16 +5,19 @@
 
 package net.minecraftforge.server.timings;
 
-import java.lang.ref.WeakReference;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.MapMaker;
 
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * A class to assist in the collection of data to measure the update times of ticking objects {currently Tile Entities and Entities}
@@ -27,19 +30,43 @@ public class TimeTracker<T>
     /**
      * A tracker for timing tile entity update
      */
-    public static final TimeTracker<BlockEntity> BLOCK_ENTITY_UPDATE = new TimeTracker<>();
+    public static final TimeTracker<BlockEntity> BLOCK_ENTITY_UPDATE = new TimeTracker<>(BlockEntity::getLevel, TickSampler::recordBlockEntity);
     /**
      * A tracker for timing entity updates
      */
-    public static final TimeTracker<Entity> ENTITY_UPDATE = new TimeTracker<>();
+    public static final TimeTracker<Entity> ENTITY_UPDATE = new TimeTracker<>(entity -> entity.level, TickSampler::recordEntity);
 
     private boolean enabled;
     private int trackingDuration;
     private Map<T, int[]> timings = new MapMaker().weakKeys().makeMap();
-    private WeakReference<T> currentlyTracking;
+    @Nullable
+    private T currentlyTracking;
     private long trackTime;
     private long timing;
 
+    @Nullable
+    private final Function<T, Level> levelGetter;
+    @Nullable
+    private final ObjLongConsumer<T> sampleRecorder;
+    @Nullable
+    private T currentlySampling;
+    private long sampleStart;
+
+    public TimeTracker()
+    {
+        this(null, null);
+    }
+
+    /**
+     * @param levelGetter Resolves the level of a tracked object, only objects in server levels are passed to the sample recorder
+     * @param sampleRecorder Receives the tick times picked by the {@link TickSampler}
+     */
+    private TimeTracker(@Nullable Function<T, Level> levelGetter, @Nullable ObjLongConsumer<T> sampleRecorder)
+    {
+        this.levelGetter = levelGetter;
+        this.sampleRecorder = sampleRecorder;
+    }
+
     /**
      * Returns the timings data recorded by the tracker
      *
@@ -73,6 +100,8 @@ public class TimeTracker<T>
      */
     public void trackEnd(T tracking)
     {
+        if (currentlySampling != null)
+            this.sampleEnd(tracking);
         if (!enabled)
             return;
         this.trackEnd(tracking, System.nanoTime());
@@ -96,18 +125,38 @@ public class TimeTracker<T>
      */
     public void trackStart(T toTrack)
     {
+        if (sampleRecorder != null && TickSampler.shouldSample())
+            this.sampleStart(toTrack);
         if (!enabled)
             return;
         this.trackStart(toTrack, System.nanoTime());
     }
 
+    private void sampleStart(T toTrack)
+    {
+        Level level = levelGetter.apply(toTrack);
+        if (level == null || level.isClientSide())
+            return;
+        currentlySampling = toTrack;
+        sampleStart = System.nanoTime();
+    }
+
+    private void sampleEnd(T object)
+    {
+        long elapsed = System.nanoTime() - sampleStart;
+        if (currentlySampling == object)
+            sampleRecorder.accept(object, elapsed);
+        currentlySampling = null;
+    }
+
     private void trackEnd(T object, long nanoTime)
     {
-        if (currentlyTracking == null || currentlyTracking.get() != object)
+        if (currentlyTracking != object)
         {
             currentlyTracking = null;
             return;
         }
+        currentlyTracking = null;
         int[] timings = this.timings.computeIfAbsent(object, k -> new int[101]);
         int idx = timings[100] = (timings[100] + 1) % 100;
         timings[idx] = (int) (nanoTime - timing);
@@ -125,7 +174,7 @@ public class TimeTracker<T>
             trackTime = 0;
         }
 
-        currentlyTracking = new WeakReference<>(toTrack);
+        currentlyTracking = toTrack;
         timing = nanoTime;
     }
 }
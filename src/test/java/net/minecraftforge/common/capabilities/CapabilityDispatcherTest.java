@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.common.capabilities;
+
+import net.minecraft.core.Direction;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.common.util.LazyOptional;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class CapabilityDispatcherTest
+{
+    private static final Capability<String> FIRST = CapabilityManager.INSTANCE.get("capability_dispatcher_test/first", false);
+    private static final Capability<String> SECOND = CapabilityManager.INSTANCE.get("capability_dispatcher_test/second", false);
+
+    @Test
+    public void testMixedProvidersKeepOrder()
+    {
+        TestProvider undeclared = new TestProvider(FIRST, "undeclared");
+        TestProvider declared = new TestProvider(FIRST, "declared");
+
+        Map<ResourceLocation, ICapabilityProvider> providers = new LinkedHashMap<>();
+        providers.put(new ResourceLocation("test:undeclared"), undeclared);
+        providers.put(new ResourceLocation("test:declared"), declared);
+        assertEquals("undeclared", dispatcher(providers, Map.of(new ResourceLocation("test:declared"), Set.of(FIRST))).getCapability(FIRST).orElse(null));
+
+        providers = new LinkedHashMap<>();
+        providers.put(new ResourceLocation("test:declared"), declared);
+        providers.put(new ResourceLocation("test:undeclared"), undeclared);
+        assertEquals("declared", dispatcher(providers, Map.of(new ResourceLocation("test:declared"), Set.of(FIRST))).getCapability(FIRST).orElse(null));
+    }
+
+    @Test
+    public void testUndeclaredProvidersAnswerAfterDeclaredOnes()
+    {
+        TestProvider declared = new TestProvider(SECOND, "declared");
+        TestProvider undeclared = new TestProvider(FIRST, "undeclared");
+
+        Map<ResourceLocation, ICapabilityProvider> providers = new LinkedHashMap<>();
+        providers.put(new ResourceLocation("test:declared"), declared);
+        providers.put(new ResourceLocation("test:undeclared"), undeclared);
+        CapabilityDispatcher dispatcher = dispatcher(providers, Map.of(new ResourceLocation("test:declared"), Set.of(FIRST)));
+
+        // The declared provider is asked first, but does not answer, so the undeclared one after it does
+        assertEquals("undeclared", dispatcher.getCapability(FIRST).orElse(null));
+        assertEquals(1, declared.queries);
+        assertEquals(1, undeclared.queries);
+    }
+
+    @Test
+    public void testDeclaredProvidersSkipOtherCapabilities()
+    {
+        TestProvider declared = new TestProvider(SECOND, "declared");
+        TestProvider undeclared = new TestProvider(FIRST, "undeclared");
+
+        Map<ResourceLocation, ICapabilityProvider> providers = new LinkedHashMap<>();
+        providers.put(new ResourceLocation("test:declared"), declared);
+        providers.put(new ResourceLocation("test:undeclared"), undeclared);
+        CapabilityDispatcher dispatcher = dispatcher(providers, Map.of(new ResourceLocation("test:declared"), Set.of(FIRST)));
+
+        // The declared provider would answer, but never declared the capability
+        assertFalse(dispatcher.getCapability(SECOND).isPresent());
+        assertEquals(0, declared.queries);
+        assertEquals(1, undeclared.queries);
+    }
+
+    @Test
+    public void testParentGoesFirst()
+    {
+        TestProvider parent = new TestProvider(FIRST, "parent");
+        TestProvider declared = new TestProvider(FIRST, "declared");
+
+        Map<ResourceLocation, ICapabilityProvider> providers = new LinkedHashMap<>();
+        providers.put(new ResourceLocation("test:declared"), declared);
+        CapabilityDispatcher dispatcher = new CapabilityDispatcher(providers, Map.of(new ResourceLocation("test:declared"), Set.of(FIRST)), List.of(), parent);
+
+        assertEquals("parent", dispatcher.getCapability(FIRST).orElse(null));
+        assertEquals(0, declared.queries);
+    }
+
+    private static CapabilityDispatcher dispatcher(Map<ResourceLocation, ICapabilityProvider> providers, Map<ResourceLocation, Set<Capability<?>>> exposed)
+    {
+        return new CapabilityDispatcher(providers, exposed, List.of(), null);
+    }
+
+    private static class TestProvider implements ICapabilityProvider
+    {
+        private final Capability<?> answers;
+        private final LazyOptional<String> value;
+        private int queries;
+
+        private TestProvider(Capability<?> answers, String value)
+        {
+            this.answers = answers;
+            this.value = LazyOptional.of(() -> value);
+        }
+
+        @NotNull
+        @Override
+        public <T> LazyOptional<T> getCapability(@NotNull Capability<T> cap, @Nullable Direction side)
+        {
+            queries++;
+            return cap == answers ? value.cast() : LazyOptional.empty();
+        }
+    }
+}
@@ -45,6 +45,7 @@ public class CapabilitiesTest
     public static Capability<CapClass> INSTANCE = CapabilityManager.get(new CapabilityToken<>(){});
 
     private static ResourceLocation TEST_CAP_ID = new ResourceLocation("capabilities_test:test");
+    private static ResourceLocation TEST_DECLARED_CAP_ID = new ResourceLocation("capabilities_test:test_declared");
 
     private static final ConcurrentLinkedQueue<String> messages = new ConcurrentLinkedQueue<>();
 
@@ -114,6 +115,21 @@ public class CapabilitiesTest
                 }
             });
 
+            // Declaring the exposed capabilities lets the dispatcher skip this provider for any other capability
+            event.addCapability(TEST_DECLARED_CAP_ID, new ICapabilityProvider()
+            {
+                final LazyOptional<CapClass> instance = LazyOptional.of(() -> new CapClass(this));
+
+                @NotNull
+                @Override
+                public <T> LazyOptional<T> getCapability(@NotNull Capability<T> cap, @Nullable Direction side)
+                {
+                    if (cap == INSTANCE)
+                        return instance.cast();
+                    return LazyOptional.empty();
+                }
+            }, INSTANCE);
+
             messages.add(String.format(Locale.ENGLISH, "Attached capability to %s in %s", event.getObject().getClass(), EffectiveSide.get()));
         }
     }
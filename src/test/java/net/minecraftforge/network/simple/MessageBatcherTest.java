@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.network.simple;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MessageBatcherTest
+{
+    @Test
+    public void testSmallMessagesShareAPayload()
+    {
+        List<byte[]> messages = List.of(message(1, 10), message(2, 20), message(3, 30));
+        List<FriendlyByteBuf> payloads = frame(MessageBatcher.MAX_SERVERBOUND_PAYLOAD, messages);
+
+        assertEquals(1, payloads.size());
+        assertMessages(messages, payloads);
+    }
+
+    @Test
+    public void testBatchOverLimitIsSplit()
+    {
+        // 1 + 3 * (2 + 10000) bytes fit, a fourth message would not
+        List<byte[]> messages = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+            messages.add(message(i, 10000));
+        List<FriendlyByteBuf> payloads = frame(MessageBatcher.MAX_SERVERBOUND_PAYLOAD, messages);
+
+        assertEquals(2, payloads.size());
+        for (FriendlyByteBuf payload : payloads)
+            assertTrue(payload.readableBytes() <= MessageBatcher.MAX_SERVERBOUND_PAYLOAD, "Payload of " + payload.readableBytes() + " bytes is over the limit");
+        assertMessages(messages, payloads);
+    }
+
+    @Test
+    public void testMessageNearLimitIsSentAlone()
+    {
+        List<byte[]> messages = List.of(message(1, 100), message(2, MessageBatcher.MAX_SERVERBOUND_PAYLOAD - 2), message(3, 100));
+        List<FriendlyByteBuf> payloads = frame(MessageBatcher.MAX_SERVERBOUND_PAYLOAD, messages);
+
+        assertEquals(3, payloads.size());
+        // Single messages are not framed, so the large one goes out exactly as it was encoded
+        assertEquals(MessageBatcher.MAX_SERVERBOUND_PAYLOAD - 2, payloads.get(1).readableBytes());
+        assertMessages(messages, payloads);
+    }
+
+    private static List<FriendlyByteBuf> frame(int maxPayloadSize, List<byte[]> messages)
+    {
+        MessageBatcher.PendingPayloads pending = new MessageBatcher.PendingPayloads(maxPayloadSize);
+        for (byte[] message : messages)
+            pending.add(new FriendlyByteBuf(Unpooled.wrappedBuffer(message)));
+        return pending.payloads();
+    }
+
+    private static void assertMessages(List<byte[]> expected, List<FriendlyByteBuf> payloads)
+    {
+        List<byte[]> actual = new ArrayList<>();
+        for (FriendlyByteBuf payload : payloads)
+        {
+            if (payload.getUnsignedByte(payload.readerIndex()) != MessageBatcher.BATCH_INDEX)
+            {
+                actual.add(read(payload, payload.readableBytes()));
+                continue;
+            }
+            payload.readUnsignedByte();
+            while (payload.isReadable())
+                actual.add(read(payload, payload.readVarInt()));
+        }
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++)
+            assertTrue(Arrays.equals(expected.get(i), actual.get(i)), "Message " + i + " does not match");
+    }
+
+    private static byte[] read(FriendlyByteBuf payload, int length)
+    {
+        byte[] ret = new byte[length];
+        payload.readBytes(ret);
+        return ret;
+    }
+
+    // A message whose first byte, its discriminator, is never the batch index
+    private static byte[] message(int discriminator, int length)
+    {
+        byte[] ret = new byte[length];
+        Arrays.fill(ret, (byte) (discriminator * 31 + length));
+        ret[0] = (byte) (discriminator % MessageBatcher.BATCH_INDEX);
+        return ret;
+    }
+}
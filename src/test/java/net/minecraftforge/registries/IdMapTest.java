@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.registries;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class IdMapTest
+{
+    @Test
+    public void testBindings()
+    {
+        IdMap<String> map = new IdMap<>();
+        String a = "a";
+        String b = "b";
+        map.put(0, a);
+        map.put(40, b);
+
+        assertSame(a, map.get(0));
+        assertSame(b, map.get(40));
+        assertNull(map.get(1));
+        assertNull(map.get(-1));
+        assertNull(map.get(1000));
+        assertEquals(40, map.getId(b));
+        assertEquals(-1, map.getId("c"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testValuesAreMatchedByIdentity()
+    {
+        IdMap<String> map = new IdMap<>();
+        String value = new String("value");
+        map.put(3, value);
+
+        assertEquals(3, map.getId(value));
+        assertEquals(-1, map.getId(new String("value")));
+    }
+
+    @Test
+    public void testRebindingAnIdReplacesItsValue()
+    {
+        IdMap<String> map = new IdMap<>();
+        String a = "a";
+        String b = "b";
+        map.put(5, a);
+        map.put(5, b);
+
+        assertSame(b, map.get(5));
+        assertEquals(-1, map.getId(a));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testValueCannotHaveTwoIds()
+    {
+        IdMap<String> map = new IdMap<>();
+        String a = "a";
+        map.put(1, a);
+        map.put(1, a);
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(2, a));
+        assertNull(map.get(2));
+        assertEquals(1, map.getId(a));
+    }
+
+    @Test
+    public void testRemoveAndClear()
+    {
+        IdMap<String> map = new IdMap<>();
+        String a = "a";
+        String b = "b";
+        map.put(1, a);
+        map.put(2, b);
+
+        assertEquals(1, map.removeValue(a));
+        assertEquals(-1, map.removeValue(a));
+        assertNull(map.get(1));
+        assertEquals(1, map.size());
+
+        map.clear();
+        assertNull(map.get(2));
+        assertEquals(-1, map.getId(b));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testForEachVisitsInIdOrder()
+    {
+        IdMap<String> map = new IdMap<>();
+        map.put(9, "nine");
+        map.put(2, "two");
+        map.put(4, "four");
+
+        List<String> visited = new ArrayList<>();
+        map.forEach((id, value) -> visited.add(id + "=" + value));
+        assertEquals(List.of("2=two", "4=four", "9=nine"), visited);
+    }
+}
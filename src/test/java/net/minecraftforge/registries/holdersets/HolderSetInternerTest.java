@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.registries.holdersets;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HolderSetInternerTest
+{
+    @Test
+    public void testIdenticalDefinitionsShareAnInstance()
+    {
+        Component first = new Component();
+        Component second = new Component();
+        Composite instance = intern(first, second);
+
+        assertSame(instance, intern(first, second));
+        assertNotSame(instance, intern(second, first));
+        assertNotSame(instance, intern(first, new Component()));
+    }
+
+    @Test
+    public void testEntryIsReclaimed() throws InterruptedException
+    {
+        WeakReference<Composite> instance = internUnreachable();
+        int interned = HolderSetInterner.size();
+
+        for (int attempt = 0; attempt < 100 && instance.get() != null; attempt++)
+        {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(instance.get(), "Interned instance was never reclaimed");
+        assertTrue(HolderSetInterner.size() < interned, "Reclaimed instance is still interned");
+    }
+
+    // Kept out of the test method, so nothing on its stack still references the component or the instance
+    private static WeakReference<Composite> internUnreachable()
+    {
+        return new WeakReference<>(intern(new Component()));
+    }
+
+    private static Composite intern(Component... components)
+    {
+        List<Component> parts = List.of(components);
+        return HolderSetInterner.intern(Composite.class, parts, () -> new Composite(parts));
+    }
+
+    /**
+     * Stands in for a named holderset, which holds the invalidation listeners of the composites using it.
+     */
+    private static class Component
+    {
+        private final List<Runnable> listeners = new ArrayList<>();
+    }
+
+    private static class Composite
+    {
+        private final List<Component> components;
+
+        private Composite(List<Component> components)
+        {
+            this.components = components;
+            components.forEach(component -> component.listeners.add(this::invalidate));
+        }
+
+        private void invalidate() {}
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.test;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.PackType;
+import net.minecraftforge.resource.PathPackResources;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class PathPackResourcesTest
+{
+    @TempDir
+    Path root;
+
+    @Test
+    public void testNamespaces() throws IOException
+    {
+        write("data/test/recipes/a.json");
+        write("data/other/tags/b.json");
+        Files.createDirectories(root.resolve("data/empty"));
+        write("assets/test/lang/en_us.json");
+
+        try (PathPackResources pack = new PathPackResources("test", false, root))
+        {
+            assertEquals(Set.of("test", "other", "empty"), pack.getNamespaces(PackType.SERVER_DATA));
+            assertEquals(Set.of("test"), pack.getNamespaces(PackType.CLIENT_RESOURCES));
+        }
+    }
+
+    @Test
+    public void testServerNamespacesFallBackToAssets() throws IOException
+    {
+        write("assets/test/lang/en_us.json");
+
+        try (PathPackResources pack = new PathPackResources("test", false, root))
+        {
+            assertEquals(Set.of("test"), pack.getNamespaces(PackType.SERVER_DATA));
+        }
+    }
+
+    @Test
+    public void testGetResource() throws IOException
+    {
+        write("data/test/recipes/a.json");
+        write("assets/test/lang/en_us.json");
+
+        try (PathPackResources pack = new PathPackResources("test", false, root))
+        {
+            assertNotNull(pack.getResource(PackType.SERVER_DATA, new ResourceLocation("test", "recipes/a.json")));
+            assertNull(pack.getResource(PackType.SERVER_DATA, new ResourceLocation("test", "recipes/b.json")));
+            assertNull(pack.getResource(PackType.SERVER_DATA, new ResourceLocation("test", "recipes")));
+            assertNull(pack.getResource(PackType.SERVER_DATA, new ResourceLocation("other", "recipes/a.json")));
+            // Languages are always read from the assets
+            assertNotNull(pack.getResource(PackType.SERVER_DATA, new ResourceLocation("test", "lang/en_us.json")));
+        }
+    }
+
+    @Test
+    public void testListResources() throws IOException
+    {
+        write("data/test/recipes/a.json");
+        write("data/test/recipes/sub/b.json");
+        write("data/test/recipes.json");
+        write("data/test/recipes-extra/c.json");
+        write("data/test/tags/d.json");
+        write("data/other/recipes/e.json");
+
+        try (PathPackResources pack = new PathPackResources("test", false, root))
+        {
+            assertEquals(Set.of(new ResourceLocation("test", "recipes/a.json"), new ResourceLocation("test", "recipes/sub/b.json")), list(pack, "test", "recipes"));
+            assertEquals(Set.of(new ResourceLocation("test", "recipes/sub/b.json")), list(pack, "test", "recipes/sub"));
+            assertEquals(Set.of(new ResourceLocation("test", "tags/d.json")), list(pack, "test", "tags/d.json"));
+            assertEquals(Set.of(), list(pack, "test", "missing"));
+            assertEquals(Set.of(), list(pack, "missing", "recipes"));
+        }
+    }
+
+    @Test
+    public void testIndexIsRebuiltAfterClose() throws IOException
+    {
+        PathPackResources pack = new PathPackResources("test", false, root);
+        assertNull(pack.getResource(PackType.SERVER_DATA, new ResourceLocation("test", "recipes/a.json")));
+
+        write("data/test/recipes/a.json");
+        assertNull(pack.getResource(PackType.SERVER_DATA, new ResourceLocation("test", "recipes/a.json")));
+        pack.close();
+        assertNotNull(pack.getResource(PackType.SERVER_DATA, new ResourceLocation("test", "recipes/a.json")));
+    }
+
+    private static Set<ResourceLocation> list(PathPackResources pack, String namespace, String path)
+    {
+        Set<ResourceLocation> ret = new HashSet<>();
+        pack.listResources(PackType.SERVER_DATA, namespace, path, (location, supplier) -> ret.add(location));
+        return ret;
+    }
+
+    private void write(String path) throws IOException
+    {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "{}");
+    }
+}